@@ -0,0 +1,66 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dev.project.employee.models.BatchItemResult;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.Response;
+import com.dev.project.employee.service.EmployeeService;
+
+/**
+ * Per-row POST /employees versus one POST /employees/batch for the same number of rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchInsertBenchmark {
+
+	@Param({ "500" })
+	public int rows;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService service;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start("employee.cache.enabled=false");
+		service = context.getBean(EmployeeService.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public long perRowInsert() throws Exception {
+		long lastId = 0;
+		for (Employee employee : BenchmarkApplication.employees(rows))
+			lastId = service.create(employee).getData().getId();
+		return lastId;
+	}
+
+	@Benchmark
+	public Response<List<BatchItemResult>> batchedInsert() throws Exception {
+		return service.createAll(BenchmarkApplication.employees(rows));
+	}
+}
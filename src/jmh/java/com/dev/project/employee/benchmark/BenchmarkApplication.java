@@ -0,0 +1,59 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dev.project.employee.EmployeeCrudApplication;
+import com.dev.project.employee.models.Employee;
+
+/**
+ * Boots the application without the web layer against an in-memory H2 database,
+ * with the schema from the same migrations production runs.
+ */
+final class BenchmarkApplication {
+
+	// Email has a unique index, benchmark invocations keep inserting so every employee needs a fresh one
+	private static final AtomicLong EMAILS = new AtomicLong();
+
+	private BenchmarkApplication() {
+	}
+
+	static ConfigurableApplicationContext start(String... properties) {
+		// Command line arguments win over the application.properties on the classpath
+		String[] defaults = {
+				"--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+				"--spring.datasource.driver-class-name=org.h2.Driver",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+				"--spring.jpa.show-sql=false",
+				"--logging.level.root=WARN" };
+		String[] args = Stream.concat(Stream.of(defaults), Stream.of(properties).map(p -> "--" + p))
+				.toArray(String[]::new);
+
+		return new SpringApplicationBuilder(EmployeeCrudApplication.class)
+				.web(WebApplicationType.NONE)
+				.run(args);
+	}
+
+	static List<Employee> employees(int count) {
+		List<Employee> employees = new ArrayList<>(count);
+		IntStream.range(0, count).forEach(i -> employees.add(employee(i)));
+		return employees;
+	}
+
+	static Employee employee(int i) {
+		return Employee.builder()
+				.name("Employee " + i)
+				.department("Dept " + (i % 10))
+				.email("employee" + EMAILS.incrementAndGet() + "@example.com")
+				.build();
+	}
+}
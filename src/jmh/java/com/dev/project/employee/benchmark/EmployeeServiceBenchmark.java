@@ -0,0 +1,77 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dev.project.employee.models.BatchItemResult;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.Response;
+import com.dev.project.employee.service.EmployeeService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+	private static final int ROWS = 10_000;
+
+	@Param({ "true", "false" })
+	public boolean cacheEnabled;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService service;
+	private long[] ids;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkApplication.start("employee.cache.enabled=" + cacheEnabled);
+		service = context.getBean(EmployeeService.class);
+
+		ids = new long[ROWS];
+		for (int offset = 0; offset < ROWS; offset += 1_000) {
+			List<BatchItemResult> results = service.createAll(BenchmarkApplication.employees(1_000)).getData();
+			for (int i = 0; i < results.size(); i++)
+				ids[offset + i] = results.get(i).getId();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Response<Employee> getById() throws Exception {
+		return service.getById(ids[ThreadLocalRandom.current().nextInt(ROWS)]);
+	}
+
+	@Benchmark
+	public Response<List<Employee>> getFirstPage() throws Exception {
+		return service.getPage(null, 20);
+	}
+
+	@Benchmark
+	public Response<Employee> update() throws Exception {
+		int i = ThreadLocalRandom.current().nextInt(ROWS);
+		return service.update(ids[i], BenchmarkApplication.employee(i));
+	}
+}
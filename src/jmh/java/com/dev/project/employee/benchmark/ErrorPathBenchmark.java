@@ -0,0 +1,98 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeExceptionalHandler;
+import com.dev.project.employee.exception.EmployeeNotFoundException;
+import com.dev.project.employee.metrics.EmployeeMetrics;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.models.Response;
+import com.dev.project.employee.service.EmployeeCache;
+import com.dev.project.employee.service.EmployeeService;
+import com.dev.project.employee.service.EmployeeServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A getById miss from the throw to the response entity, without the database
+ * and the HTTP layer. The old path threw an exception with a stack trace, had
+ * it rewrapped by the cache future and built a 400 envelope per miss. The
+ * current one throws a stackless exception straight out of the cache and
+ * returns the advice's precomputed 404. Run with -prof gc for bytes per miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+	// Frames between the servlet container and the repository call, a Spring MVC request through filters and proxies is deeper
+	@Param({ "64" })
+	public int depth;
+
+	private final EmployeeService service = new EmployeeServiceImpl(null, new EmployeeProperties(), null,
+			new EmployeeCache(new EmployeeProperties()), null, null, null, null);
+	private final EmployeeCache cache = new EmployeeCache(new EmployeeProperties());
+	private final EmployeeExceptionalHandler handler = new EmployeeExceptionalHandler(new EmployeeMetrics(new SimpleMeterRegistry()));
+
+	private long id;
+
+	@Benchmark
+	public ResponseEntity<Response<Employee>> stackTraceAndBuiltEnvelope() {
+		try {
+			return ResponseEntity.ok(atDepth(depth, () -> {
+				CompletableFuture<Response<Employee>> load = new CompletableFuture<>();
+				load.completeExceptionally(new StackTraceNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog()));
+				return load.join();
+			}));
+		} catch (CompletionException e) {
+			return service.buildErrorResponse((Exception) e.getCause(), LogDescription.EXCEPTION_OCCURED);
+		}
+	}
+
+	@Benchmark
+	public ResponseEntity<Response<Object>> stacklessAndPrecomputedEnvelope() {
+		try {
+			// A fresh id every time, so each call is a real cache miss that runs the loader
+			Employee employee = atDepth(depth, () -> cache.get(id++, key -> {
+				throw new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog());
+			}));
+			return ResponseEntity.ok(Response.builder().data(employee).build());
+		} catch (EmployeeNotFoundException e) {
+			return handler.handleNotFound(e);
+		}
+	}
+
+	private static <T> T atDepth(int depth, Supplier<T> action) {
+		return depth == 0 ? action.get() : atDepth(depth - 1, action);
+	}
+
+	// What EmployeeNotFoundException was before it became an EmployeeDomainException
+	private static final class StackTraceNotFoundException extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		StackTraceNotFoundException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.dev.project.employee.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dev.project.employee.models.ImportJob;
+import com.dev.project.employee.models.ImportStatus;
+import com.dev.project.employee.repository.EmployeeRepository;
+import com.dev.project.employee.service.EmployeeImportJobs;
+
+/**
+ * One CSV import of a generated file, timed from accepting the file until the
+ * job reports COMPLETED, so rows per second is rows divided by the score. The
+ * table is emptied before every iteration so each import starts from the same
+ * size, and the file is written anew because a finished job deletes it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class ImportBenchmark {
+
+	@Param({ "1000000" })
+	public int rows;
+
+	@Param({ "1", "4" })
+	public int validationThreads;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeImportJobs jobs;
+	private EmployeeRepository repo;
+	private Path csv;
+	private int run;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start("employee.cache.enabled=false", "employee.suggest.enabled=false",
+				"employee.csv-import.validation-threads=" + validationThreads);
+		jobs = context.getBean(EmployeeImportJobs.class);
+		repo = context.getBean(EmployeeRepository.class);
+	}
+
+	@Setup(Level.Iteration)
+	public void writeFile() throws IOException {
+		repo.deleteAllInBatch();
+		csv = Files.createTempFile("employee-import-benchmark-", ".csv");
+		run++;
+		try (BufferedWriter writer = Files.newBufferedWriter(csv)) {
+			writer.write("name,department,email\n");
+			for (int i = 0; i < rows; i++)
+				writer.write("Employee " + i + ",Dept " + (i % 10) + ",employee" + run + "-" + i + "@example.com\n");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(csv);
+		context.close();
+	}
+
+	@Benchmark
+	public ImportJob importCsv() throws Exception {
+		ImportJob job = jobs.start(csv);
+		while (job.getStatus() == ImportStatus.QUEUED || job.getStatus() == ImportStatus.RUNNING) {
+			Thread.sleep(5);
+			job = jobs.status(job.getId()).orElseThrow();
+		}
+		if (job.getImported() != rows)
+			throw new IllegalStateException("Imported " + job.getImported() + " of " + rows + ": " + job.getErrors());
+		return job;
+	}
+}
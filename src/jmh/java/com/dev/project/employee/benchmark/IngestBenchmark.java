@@ -0,0 +1,97 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.IngestStatus;
+import com.dev.project.employee.models.IngestTicket;
+import com.dev.project.employee.service.EmployeeIngestQueue;
+import com.dev.project.employee.service.EmployeeService;
+
+/**
+ * A feed of single-employee records, written synchronously one by one versus
+ * submitted to the ingest queue. The ingest side is timed until the last
+ * ticket completes, so it measures rows in the database, not acknowledgements.
+ * Half of every feed updates employees that already exist, as a re-sent HR
+ * extract would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IngestBenchmark {
+
+	@Param({ "1000" })
+	public int rows;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService service;
+	private EmployeeIngestQueue queue;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = BenchmarkApplication.start("employee.cache.enabled=false");
+		service = context.getBean(EmployeeService.class);
+		queue = context.getBean(EmployeeIngestQueue.class);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	// Synchronous baseline: one transaction per record, updates resend the same email
+	@Benchmark
+	public long synchronousCreate() throws Exception {
+		List<Employee> feed = BenchmarkApplication.employees(rows / 2);
+		long lastId = 0;
+		for (Employee employee : feed)
+			lastId = service.create(employee).getData().getId();
+		for (Employee employee : feed)
+			lastId = service.update(employee.getId(), renamed(employee)).getData().getId();
+		return lastId;
+	}
+
+	@Benchmark
+	public IngestTicket ingest() throws Exception {
+		List<Employee> feed = BenchmarkApplication.employees(rows / 2);
+		IngestTicket last = null;
+		for (Employee employee : feed)
+			last = queue.submit(List.of(employee));
+		for (Employee employee : feed)
+			last = queue.submit(List.of(renamed(employee)));
+
+		// One flusher drains in submission order, the last ticket completes last
+		while (last.getStatus() != IngestStatus.COMPLETED) {
+			Thread.sleep(1);
+			last = queue.status(last.getId()).orElseThrow();
+		}
+		return last;
+	}
+
+	private static Employee renamed(Employee employee) {
+		return Employee.builder()
+				.name(employee.getName() + " Jr")
+				.department(employee.getDepartment())
+				.email(employee.getEmail())
+				.build();
+	}
+}
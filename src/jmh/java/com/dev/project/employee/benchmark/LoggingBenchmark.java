@@ -0,0 +1,116 @@
+package com.dev.project.employee.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import com.dev.project.employee.models.LogDescription;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+
+/**
+ * Request-path logging: a synchronous file appender against the async appender
+ * from logback-spring.xml, and eager formatting against parameterized messages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoggingBenchmark {
+
+	@Param({ "sync", "async" })
+	public String appender;
+
+	private File file;
+	private Appender<ILoggingEvent> root;
+	private Logger logger;
+	private long id = 42;
+
+	@Setup
+	public void setUp() throws IOException {
+		LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+		file = File.createTempFile("logging-benchmark", ".log");
+
+		PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+		encoder.setContext(context);
+		encoder.setPattern("%d %level [%thread] %logger{36} : %msg%n");
+		encoder.start();
+
+		FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+		fileAppender.setContext(context);
+		fileAppender.setFile(file.getAbsolutePath());
+		fileAppender.setEncoder(encoder);
+		fileAppender.start();
+
+		if ("async".equals(appender)) {
+			AsyncAppender async = new AsyncAppender();
+			async.setContext(context);
+			async.setQueueSize(8192);
+			async.setDiscardingThreshold(0);
+			async.setNeverBlock(true);
+			async.addAppender(fileAppender);
+			async.start();
+			root = async;
+		} else {
+			root = fileAppender;
+		}
+
+		logger = context.getLogger("benchmark.request");
+		logger.setAdditive(false);
+		logger.setLevel(Level.INFO);
+		logger.addAppender(root);
+	}
+
+	@TearDown
+	public void tearDown() {
+		logger.detachAppender(root);
+		root.stop();
+		file.delete();
+	}
+
+	@Benchmark
+	public void infoEagerlyFormatted() {
+		logger.info(LogDescription.CREATED_EMPLOYEE.getLog().formatted(id));
+	}
+
+	@Benchmark
+	public void infoParameterized() {
+		logger.info(LogDescription.CREATED_EMPLOYEE.getPattern(), id);
+	}
+
+	// The request path after this change: DEBUG is off in production
+	@Benchmark
+	public void debugParameterizedDisabled() {
+		logger.debug(LogDescription.CREATED_EMPLOYEE.getPattern(), id);
+	}
+
+	@Benchmark
+	public void debugEagerlyFormattedDisabled() {
+		logger.debug(LogDescription.CREATED_EMPLOYEE.getLog().formatted(id));
+	}
+}
@@ -0,0 +1,95 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.dev.project.employee.models.BatchItemResult;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeLookup;
+import com.dev.project.employee.models.Response;
+import com.dev.project.employee.service.EmployeeService;
+
+/**
+ * Resolving a list of random ids, one getById per id versus a single lookup.
+ * Both sides are timed at the service, so the lookup's further saving of N - 1
+ * HTTP round trips is not in the numbers. With a warm cache every id is loaded
+ * once during setup and both sides answer without a query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+
+	private static final int ROWS = 10_000;
+
+	@Param({ "100", "500" })
+	public int ids;
+
+	@Param({ "false", "true" })
+	public boolean warmCache;
+
+	private ConfigurableApplicationContext context;
+	private EmployeeService service;
+	private long[] rows;
+
+	@Setup(Level.Trial)
+	public void setUp() throws Exception {
+		context = BenchmarkApplication.start("employee.cache.enabled=" + warmCache, "employee.suggest.enabled=false");
+		service = context.getBean(EmployeeService.class);
+
+		rows = new long[ROWS];
+		for (int offset = 0; offset < ROWS; offset += 1_000) {
+			List<BatchItemResult> results = service.createAll(BenchmarkApplication.employees(1_000)).getData();
+			for (int i = 0; i < results.size(); i++)
+				rows[offset + i] = results.get(i).getId();
+		}
+		if (warmCache)
+			for (long id : rows)
+				service.getById(id);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Employee> singleLookups() throws Exception {
+		List<Employee> employees = new ArrayList<>(ids);
+		for (Long id : randomIds())
+			employees.add(service.getById(id).getData());
+		return employees;
+	}
+
+	@Benchmark
+	public Response<EmployeeLookup> lookup() {
+		return service.lookup(randomIds());
+	}
+
+	private List<Long> randomIds() {
+		List<Long> random = new ArrayList<>(ids);
+		for (int i = 0; i < ids; i++)
+			random.add(rows[ThreadLocalRandom.current().nextInt(ROWS)]);
+		return random;
+	}
+}
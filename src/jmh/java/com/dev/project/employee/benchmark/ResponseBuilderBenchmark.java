@@ -0,0 +1,49 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeNotFoundException;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.models.Response;
+import com.dev.project.employee.service.EmployeeCache;
+import com.dev.project.employee.service.EmployeeService;
+import com.dev.project.employee.service.EmployeeServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBuilderBenchmark {
+
+	// The builders are interface defaults and never touch the collaborators
+	private final EmployeeService service = new EmployeeServiceImpl(null, new EmployeeProperties(), null,
+			new EmployeeCache(new EmployeeProperties()), null, null, null, null);
+
+	private final Employee employee = Employee.builder().id(1L).name("Sheldon").department("Physics").email("sheldon@gmail.com").build();
+	private final Exception notFound = new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog());
+
+	@Benchmark
+	public Response<Employee> buildSuccessResponse() {
+		return service.buildSuccessResponse(employee, LogDescription.EMPLOYEE_COUNT_RETRIEVED, 1);
+	}
+
+	@Benchmark
+	public ResponseEntity<Response<Employee>> buildErrorResponse() {
+		return service.buildErrorResponse(notFound, LogDescription.EXCEPTION_OCCURED);
+	}
+}
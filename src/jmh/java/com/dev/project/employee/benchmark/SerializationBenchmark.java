@@ -0,0 +1,101 @@
+package com.dev.project.employee.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.models.Response;
+import com.dev.project.employee.models.Status;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Encodes and decodes the response envelope in each negotiable format. Payload
+ * sizes are printed once per trial, before the first warmup iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+	private static final TypeReference<Response<List<Employee>>> LIST = new TypeReference<>() {
+	};
+
+	@Param({ "1", "100", "1000" })
+	public int size;
+
+	@Param({ "json", "cbor", "smile" })
+	public String format;
+
+	private ObjectMapper mapper;
+
+	private Response<Employee> single;
+	private Response<List<Employee>> list;
+	private byte[] encodedList;
+
+	@Setup
+	public void setUp() throws JsonProcessingException {
+		// Same builder Spring MVC uses for its message converters
+		mapper = Jackson2ObjectMapperBuilder.json().factory(factory(format)).build();
+
+		List<Employee> employees = LongStream.range(0, size)
+				.mapToObj(i -> Employee.builder().id(i).name("Employee " + i).department("Dept " + (i % 10))
+						.email("employee" + i + "@example.com").build())
+				.toList();
+
+		single = Response.<Employee>builder().status(Status.SUCCESS)
+				.message(LogDescription.EMPLOYEE_COUNT_RETRIEVED.getLog().formatted(1)).data(employees.get(0)).build();
+		list = Response.<List<Employee>>builder().status(Status.SUCCESS)
+				.message(LogDescription.EMPLOYEE_COUNT_RETRIEVED.getLog().formatted(size)).data(employees).build();
+		encodedList = mapper.writeValueAsBytes(list);
+
+		System.out.printf("%n%s, %d employees: single %d bytes, list %d bytes%n", format, size,
+				mapper.writeValueAsBytes(single).length, encodedList.length);
+	}
+
+	@Benchmark
+	public byte[] serializeSingle() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(single);
+	}
+
+	@Benchmark
+	public byte[] serializeList() throws JsonProcessingException {
+		return mapper.writeValueAsBytes(list);
+	}
+
+	@Benchmark
+	public Response<List<Employee>> deserializeList() throws IOException {
+		return mapper.readValue(encodedList, LIST);
+	}
+
+	private static JsonFactory factory(String format) {
+		return switch (format) {
+			case "cbor" -> new CBORFactory();
+			case "smile" -> new SmileFactory();
+			default -> new JsonFactory();
+		};
+	}
+}
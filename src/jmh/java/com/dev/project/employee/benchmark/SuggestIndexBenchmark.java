@@ -0,0 +1,91 @@
+package com.dev.project.employee.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.EmployeeSummary;
+import com.dev.project.employee.service.EmployeeSuggestIndex;
+
+/**
+ * Typeahead lookups against the in-memory suggest index. Sample mode reports the
+ * p99 per prefix length, the retained heap of the index is printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = { "-Xmx4g" })
+public class SuggestIndexBenchmark {
+
+	private static final String[] FIRST = { "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda",
+			"David", "Elizabeth", "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah",
+			"Charles", "Karen", "Christopher", "Lisa", "Daniel", "Nancy", "Matthew", "Betty", "Anthony", "Margaret",
+			"Mark", "Sandra", "Zoë", "José", "Amélie", "Søren", "Priya", "Wei", "Fatima", "Mohammed", "Yuki", "Olga" };
+
+	private static final String[] LAST = { "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller",
+			"Davis", "Rodriguez", "Martinez", "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor",
+			"Moore", "Jackson", "Martin", "Lee", "Perez", "Thompson", "White", "Harris", "Sanchez", "Clark", "Ramirez",
+			"Lewis", "Robinson", "Müller", "Nguyen", "Kowalski", "Ivanova", "Tanaka", "Singh", "O'Brien", "Dubois" };
+
+	private static final int QUERIES = 4_096;
+
+	@Param({ "1000000" })
+	public int employees;
+
+	@Param({ "1", "3", "6" })
+	public int prefixLength;
+
+	private EmployeeSuggestIndex index;
+	private String[] queries;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		long before = usedHeap();
+		index = new EmployeeSuggestIndex(new EmployeeProperties());
+		SplittableRandom random = new SplittableRandom(42);
+		for (int i = 1; i <= employees; i++) {
+			String first = FIRST[random.nextInt(FIRST.length)];
+			String last = LAST[random.nextInt(LAST.length)];
+			index.put(new EmployeeSummary((long) i, first + " " + last, "Dept " + (i % 10),
+					first.toLowerCase() + "." + last.toLowerCase() + i + "@example.com"));
+		}
+		long footprint = usedHeap() - before;
+		System.out.printf("%nsuggest index: %d employees, ~%d MB retained, ~%d bytes per employee%n",
+				index.size(), footprint / (1024 * 1024), footprint / employees);
+
+		queries = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			String source = random.nextBoolean() ? FIRST[random.nextInt(FIRST.length)] : LAST[random.nextInt(LAST.length)];
+			queries[i] = source.substring(0, Math.min(prefixLength, source.length()));
+		}
+	}
+
+	@Benchmark
+	public List<EmployeeSummary> suggest() {
+		return index.suggest(queries[next++ & (QUERIES - 1)], 10);
+	}
+
+	private static long usedHeap() {
+		for (int i = 0; i < 3; i++)
+			System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
@@ -0,0 +1,44 @@
+package com.dev.project.employee.benchmark;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dev.project.employee.models.Employee;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+	private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	private final Employee valid = Employee.builder().name("Sheldon").department("Physics").email("sheldon@gmail.com").build();
+	private final Employee invalid = Employee.builder().name("").email("not-an-email").build();
+
+	@Benchmark
+	public Set<ConstraintViolation<Employee>> validateValid() {
+		return validator.validate(valid);
+	}
+
+	@Benchmark
+	public Set<ConstraintViolation<Employee>> validateInvalid() {
+		return validator.validate(invalid);
+	}
+}
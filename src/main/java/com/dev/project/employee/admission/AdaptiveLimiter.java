@@ -0,0 +1,61 @@
+package com.dev.project.employee.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.dev.project.employee.config.EmployeeProperties;
+
+/**
+ * AIMD concurrency limit. Every request that completes under the latency
+ * threshold while the limit is actually in use raises the limit by one, a slow
+ * or failed request multiplies it by the backoff ratio. Requests beyond the
+ * current limit are refused instead of queued.
+ */
+public class AdaptiveLimiter {
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final long thresholdNanos;
+	private final double backoffRatio;
+
+	private final AtomicInteger inflight = new AtomicInteger();
+
+	// Written under the monitor, read lock-free on every acquire
+	private volatile double limit;
+
+	public AdaptiveLimiter(EmployeeProperties.AdmissionLimit config, double backoffRatio) {
+		this.minLimit = config.getMinLimit();
+		this.maxLimit = config.getMaxLimit();
+		this.thresholdNanos = config.getLatencyThreshold().toNanos();
+		this.backoffRatio = backoffRatio;
+		this.limit = config.getInitialLimit();
+	}
+
+	public boolean tryAcquire() {
+		while (true) {
+			int current = inflight.get();
+			if (current >= (int) limit)
+				return false;
+			if (inflight.compareAndSet(current, current + 1))
+				return true;
+		}
+	}
+
+	public void release(long latencyNanos, boolean failed) {
+		int current = inflight.getAndDecrement();
+		synchronized (this) {
+			if (failed || latencyNanos > thresholdNanos)
+				limit = Math.max(minLimit, limit * backoffRatio);
+			// Only grow while at least half the limit is in use, an idle service learns nothing about capacity
+			else if (current * 2 >= limit)
+				limit = Math.min(maxLimit, limit + 1);
+		}
+	}
+
+	public int getLimit() {
+		return (int) limit;
+	}
+
+	public int getInflight() {
+		return inflight.get();
+	}
+}
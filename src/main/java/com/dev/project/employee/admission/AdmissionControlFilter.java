@@ -0,0 +1,126 @@
+package com.dev.project.employee.admission;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.models.Response;
+import com.dev.project.employee.models.Status;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Admission control for /employees. Reads and writes each get their own
+ * adaptive limit, so a burst of one cannot starve the other. A request over
+ * the limit is answered with 503 before it reaches a controller or waits on
+ * the connection pool.
+ */
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+	public static final String REJECTED = "employee.admission.rejected";
+
+	private final boolean enabled;
+	private final AdaptiveLimiter reads;
+	private final AdaptiveLimiter writes;
+	private final Counter readsRejected;
+	private final Counter writesRejected;
+	private final String retryAfter;
+
+	// Every rejection carries the same body, serialized once
+	private final byte[] rejection;
+
+	public AdmissionControlFilter(EmployeeProperties properties, ObjectMapper objectMapper, MeterRegistry registry)
+			throws JsonProcessingException {
+		EmployeeProperties.Admission admission = properties.getAdmission();
+		this.enabled = admission.isEnabled();
+		this.reads = new AdaptiveLimiter(admission.getRead(), admission.getBackoffRatio());
+		this.writes = new AdaptiveLimiter(admission.getWrite(), admission.getBackoffRatio());
+		this.readsRejected = register(registry, "read", reads);
+		this.writesRejected = register(registry, "write", writes);
+
+		long seconds = Math.max(1, admission.getRetryAfter().toSeconds());
+		this.retryAfter = Long.toString(seconds);
+		this.rejection = objectMapper.writeValueAsBytes(Response.builder()
+				.status(Status.FAILURE)
+				.message(LogDescription.SERVICE_OVERLOADED.getLog().formatted(seconds))
+				.build());
+	}
+
+	// Streaming responses outlive their filter call and would only feed the limiter noise
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI().substring(request.getContextPath().length());
+		return !enabled || !path.startsWith("/employees") || path.startsWith("/employees/export")
+				|| path.startsWith("/employees/stream");
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		// A multi-get is a POST only to carry its id list, it shares the read limit
+		boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod())
+				|| request.getRequestURI().substring(request.getContextPath().length()).equals("/employees/lookup");
+		AdaptiveLimiter limiter = read ? reads : writes;
+
+		if (!limiter.tryAcquire()) {
+			(read ? readsRejected : writesRejected).increment();
+			log.debug(LogDescription.SERVICE_OVERLOADED.getPattern(), retryAfter);
+			reject(response);
+			return;
+		}
+
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			chain.doFilter(request, response);
+			failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+		} finally {
+			limiter.release(System.nanoTime() - start, failed);
+		}
+	}
+
+	private void reject(HttpServletResponse response) throws IOException {
+		response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+		response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setContentLength(rejection.length);
+		response.getOutputStream().write(rejection);
+	}
+
+	private static Counter register(MeterRegistry registry, String kind, AdaptiveLimiter limiter) {
+		Gauge.builder("employee.admission.limit", limiter, AdaptiveLimiter::getLimit)
+				.description("Current adaptive concurrency limit")
+				.tag("kind", kind)
+				.register(registry);
+		Gauge.builder("employee.admission.inflight", limiter, AdaptiveLimiter::getInflight)
+				.description("Requests currently admitted")
+				.tag("kind", kind)
+				.register(registry);
+		return Counter.builder(REJECTED)
+				.description("Requests refused with 503 by admission control")
+				.tag("kind", kind)
+				.register(registry);
+	}
+
+	AdaptiveLimiter limiter(boolean read) {
+		return read ? reads : writes;
+	}
+}
@@ -0,0 +1,57 @@
+package com.dev.project.employee.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * CBOR and Smile next to JSON, picked by Accept on responses and by
+ * Content-Type on request bodies. Both mappers come from the builder Boot
+ * configures the JSON mapper with, so spring.jackson settings and the model's
+ * Jackson annotations apply the same way in every format. JSON stays the
+ * first converter and the answer to Accept: *&#47;*.
+ */
+@Configuration(proxyBeanMethods = false)
+public class ContentNegotiationConfig implements WebMvcConfigurer {
+
+	public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+	// RFC 8742, concatenated CBOR items as the binary counterpart of NDJSON
+	public static final MediaType APPLICATION_CBOR_SEQ = new MediaType("application", "cbor-seq");
+	public static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+
+	// Replace the converters Spring MVC would add on its own with an unconfigured mapper
+	@Bean
+	public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+	}
+
+	@Bean
+	public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+		return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+	}
+
+	// Version ETags are shared by all formats, caches must still keep one entry per format
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(new HandlerInterceptor() {
+			@Override
+			public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+				response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+				return true;
+			}
+		}).addPathPatterns("/employees", "/employees/**");
+	}
+}
@@ -0,0 +1,265 @@
+package com.dev.project.employee.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "employee")
+public class EmployeeProperties {
+
+	private Pagination pagination = new Pagination();
+
+	private Export export = new Export();
+
+	private Batch batch = new Batch();
+
+	private Lookup lookup = new Lookup();
+
+	private Cache cache = new Cache();
+
+	private Suggest suggest = new Suggest();
+
+	private Routing routing = new Routing();
+
+	private Admission admission = new Admission();
+
+	private Ingest ingest = new Ingest();
+
+	private Idempotency idempotency = new Idempotency();
+
+	private Stream stream = new Stream();
+
+	private Sync sync = new Sync();
+
+	private CsvImport csvImport = new CsvImport();
+
+	@Getter
+	@Setter
+	public static class Pagination {
+
+		// Page size used when the client does not send a limit
+		private int defaultPageSize = 20;
+
+		// Hard upper bound, larger limits are clamped to this value
+		private int maxPageSize = 100;
+	}
+
+	@Getter
+	@Setter
+	public static class Export {
+
+		// Rows the JDBC driver pulls per round trip while streaming
+		private int fetchSize = 500;
+
+		// Persistence context is cleared after this many exported rows
+		private int clearInterval = 1000;
+	}
+
+	@Getter
+	@Setter
+	public static class Batch {
+
+		// Largest list accepted by a single bulk create
+		private int maxSize = 1000;
+
+		// Rows persisted before the session is flushed and cleared, keep in line with hibernate.jdbc.batch_size
+		private int chunkSize = 50;
+	}
+
+	@Getter
+	@Setter
+	public static class Lookup {
+
+		// Largest id list accepted by a single multi-get
+		private int maxIds = 1000;
+
+		// Ids per IN query, the database sees at most maxIds / chunkSize queries per request
+		private int chunkSize = 500;
+	}
+
+	@Getter
+	@Setter
+	public static class Cache {
+
+		// Read-through cache in front of findById
+		private boolean enabled = true;
+
+		private long maximumSize = 10_000;
+
+		// Entries older than this are reloaded, bounds staleness for writes made outside this instance
+		private Duration timeToLive = Duration.ofMinutes(10);
+	}
+
+	@Getter
+	@Setter
+	public static class Suggest {
+
+		// In-memory typeahead index, built at startup. When off, suggestions fall back to the name prefix query
+		private boolean enabled = true;
+
+		private int defaultLimit = 10;
+
+		private int maxLimit = 50;
+	}
+
+	@Getter
+	@Setter
+	public static class Routing {
+
+		// Sends read-only transactions to the replicas, spring.datasource stays the primary
+		private boolean enabled = false;
+
+		// Once a request has written, its later reads stay on the primary
+		private boolean readYourWrites = true;
+
+		private List<Replica> replicas = new ArrayList<>();
+	}
+
+	@Getter
+	@Setter
+	public static class Replica {
+
+		private String url;
+
+		private String username;
+
+		private String password;
+	}
+
+	@Getter
+	@Setter
+	public static class Admission {
+
+		// Adaptive concurrency limits in front of /employees, excess requests get an immediate 503
+		private boolean enabled = true;
+
+		// Sent as Retry-After on a rejection
+		private Duration retryAfter = Duration.ofSeconds(1);
+
+		// Multiplier applied to a limit whenever a request is slower than its threshold or fails
+		private double backoffRatio = 0.9;
+
+		private AdmissionLimit read = new AdmissionLimit(100, 10, 400, Duration.ofMillis(250));
+
+		private AdmissionLimit write = new AdmissionLimit(40, 5, 200, Duration.ofMillis(500));
+	}
+
+	@Getter
+	@Setter
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class AdmissionLimit {
+
+		private int initialLimit;
+
+		private int minLimit;
+
+		private int maxLimit;
+
+		// Latency above which a request counts as a congestion signal
+		private Duration latencyThreshold;
+	}
+
+	@Getter
+	@Setter
+	public static class Ingest {
+
+		// Items waiting to be written, a submission that does not fit is refused with 503
+		private int queueCapacity = 10_000;
+
+		// Most items written by one flush, coalesced by email first
+		private int maxBatchSize = 500;
+
+		// How long the flusher keeps collecting after the first queued item
+		private Duration flushInterval = Duration.ofMillis(200);
+
+		// Completed tickets are kept for status lookups this long after they complete
+		private Duration ticketTimeToLive = Duration.ofHours(1);
+
+		// Completed tickets kept at most, pending ones are never dropped
+		private long maxTickets = 100_000;
+
+		// Upper bound on draining the queue when the application stops
+		private Duration drainTimeout = Duration.ofSeconds(30);
+
+		private Duration retryAfter = Duration.ofSeconds(1);
+	}
+
+	@Getter
+	@Setter
+	public static class Idempotency {
+
+		private boolean enabled = true;
+
+		// Upper bound on remembered keys, in-flight and completed
+		private long maximumSize = 10_000;
+
+		// How long a completed response can be replayed
+		private Duration timeToLive = Duration.ofHours(24);
+
+		// How long a duplicate waits for the first request before giving up with 409
+		private Duration waitTimeout = Duration.ofSeconds(10);
+
+		private int maxKeyLength = 255;
+	}
+
+	@Getter
+	@Setter
+	public static class Stream {
+
+		// Events kept for subscribers that fall behind or reconnect with Last-Event-ID
+		private int bufferSize = 8192;
+
+		// Connection lifetime, clients reconnect and resume from their Last-Event-ID
+		private Duration timeout = Duration.ofMinutes(30);
+
+		// Comment sent to every subscriber so proxies keep idle connections open
+		private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+		// Threads writing to subscribers, each subscriber is served by one of them at a time
+		private int senderThreads = 4;
+	}
+
+	@Getter
+	@Setter
+	public static class Sync {
+
+		// Tombstones are kept this long, a sync token older than this forces a full resync
+		private Duration tombstoneRetention = Duration.ofDays(7);
+
+		// How often expired tombstones are purged
+		private Duration purgeInterval = Duration.ofHours(1);
+	}
+
+	@Getter
+	@Setter
+	public static class CsvImport {
+
+		// Rows per validation task and per write transaction
+		private int chunkSize = 1000;
+
+		// Threads running Bean Validation, shared by all jobs
+		private int validationThreads = Runtime.getRuntime().availableProcessors();
+
+		// Jobs running at once, later uploads wait their turn
+		private int maxConcurrentJobs = 2;
+
+		// Row errors kept per job, the failed count goes on past it
+		private int maxErrors = 1000;
+
+		// Finished jobs are kept for status lookups this long
+		private Duration jobTimeToLive = Duration.ofHours(24);
+
+		// Finished jobs kept at most, queued and running ones are never dropped
+		private long maxJobs = 1000;
+	}
+}
@@ -0,0 +1,97 @@
+package com.dev.project.employee.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Routes read-only transactions round-robin across the replica pools and
+ * everything else to the primary. The routing key is read when a connection is
+ * requested, so this must sit behind a LazyConnectionDataSourceProxy for the
+ * transaction's read-only flag to be visible.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	public static final String ROUTES = "employee.datasource.routes";
+
+	static final String PRIMARY = "primary";
+
+	// Present only while a web request is in flight, true once that request has written
+	private static final ThreadLocal<boolean[]> REQUEST_WROTE = new ThreadLocal<>();
+
+	private final List<String> replicas;
+	private final boolean readYourWrites;
+	private final Map<String, Counter> routes = new HashMap<>();
+	private final AtomicInteger next = new AtomicInteger();
+	private final List<HikariDataSource> pools;
+
+	public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools, boolean readYourWrites,
+			MeterRegistry registry) {
+		Map<Object, Object> targets = new HashMap<>();
+		targets.put(PRIMARY, primary);
+		List<String> replicaKeys = new ArrayList<>();
+		for (int i = 0; i < replicaPools.size(); i++) {
+			replicaKeys.add("replica-" + i);
+			targets.put("replica-" + i, replicaPools.get(i));
+		}
+		targets.keySet().forEach(key -> routes.put((String) key, Counter.builder(ROUTES)
+				.description("Connections handed out, by target pool")
+				.tag("target", (String) key)
+				.register(registry)));
+
+		this.replicas = List.copyOf(replicaKeys);
+		this.readYourWrites = readYourWrites;
+		this.pools = targets.values().stream().map(HikariDataSource.class::cast).toList();
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		String target = route();
+		routes.get(target).increment();
+		return target;
+	}
+
+	private String route() {
+		boolean[] wrote = REQUEST_WROTE.get();
+		if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || replicas.isEmpty()) {
+			if (wrote != null)
+				wrote[0] = true;
+			return PRIMARY;
+		}
+		// Replicas lag the primary, a request that has just written must not read its own change from one
+		if (readYourWrites && wrote != null && wrote[0])
+			return PRIMARY;
+		return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+	}
+
+	Map<Object, DataSource> getTargets() {
+		return getResolvedDataSources();
+	}
+
+	static void beginRequest() {
+		REQUEST_WROTE.set(new boolean[1]);
+	}
+
+	static void endRequest() {
+		REQUEST_WROTE.remove();
+	}
+
+	@Override
+	public void close() {
+		pools.forEach(HikariDataSource::close);
+	}
+}
@@ -0,0 +1,89 @@
+package com.dev.project.employee.config;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Read/write splitting, active with employee.routing.enabled=true. Replaces the
+ * auto-configured pool with a primary and one pool per replica, all sharing the
+ * spring.datasource.hikari settings.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "employee.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+	@Bean
+	public ReplicaRoutingDataSource routingDataSource(DataSourceProperties primary, EmployeeProperties properties,
+			Environment environment, MeterRegistry registry) {
+		HikariDataSource primaryPool = pool(environment, registry, "employee-primary",
+				primary.determineUrl(), primary.determineUsername(), primary.determinePassword());
+
+		List<HikariDataSource> replicaPools = new ArrayList<>();
+		List<EmployeeProperties.Replica> replicas = properties.getRouting().getReplicas();
+		for (int i = 0; i < replicas.size(); i++) {
+			EmployeeProperties.Replica replica = replicas.get(i);
+			replicaPools.add(pool(environment, registry, "employee-replica-" + i,
+					replica.getUrl(), replica.getUsername(), replica.getPassword()));
+		}
+		return new ReplicaRoutingDataSource(primaryPool, replicaPools, properties.getRouting().isReadYourWrites(), registry);
+	}
+
+	// Defers the physical connection to the first statement, when the transaction's read-only flag is already set
+	@Bean
+	@Primary
+	public DataSource dataSource(ReplicaRoutingDataSource routingDataSource) {
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+	@Bean
+	public OncePerRequestFilter readYourWritesFilter() {
+		return new OncePerRequestFilter() {
+			@Override
+			protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+					throws ServletException, IOException {
+				ReplicaRoutingDataSource.beginRequest();
+				try {
+					chain.doFilter(request, response);
+				} finally {
+					ReplicaRoutingDataSource.endRequest();
+				}
+			}
+		};
+	}
+
+	private static HikariDataSource pool(Environment environment, MeterRegistry registry, String name, String url,
+			String username, String password) {
+		HikariDataSource pool = new HikariDataSource();
+		Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+		pool.setPoolName(name);
+		pool.setJdbcUrl(url);
+		pool.setUsername(username);
+		pool.setPassword(password);
+		// hikaricp.connections.* per pool, Spring Boot only instruments pools it can unwrap from a DataSource bean
+		pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+		return pool;
+	}
+}
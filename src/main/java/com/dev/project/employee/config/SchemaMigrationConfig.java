@@ -0,0 +1,34 @@
+package com.dev.project.employee.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.SpringProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Flyway migrates the schema from db/migration/mysql at boot, db/migration/h2
+ * in tests, and Hibernate only validates it. The one exception is a CDS training run, which refreshes
+ * the context with spring.context.exit=onRefresh and exits before serving
+ * anything. It leaves the schema alone so the archive can be built without a
+ * database. An AOT build fixes spring.flyway.enabled at build time, so this
+ * cannot be left to a property on the training command line.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class SchemaMigrationConfig {
+
+	static final String CONTEXT_EXIT = "spring.context.exit";
+
+	@Bean
+	public FlywayMigrationStrategy flywayMigrationStrategy() {
+		return flyway -> {
+			if ("onRefresh".equals(SpringProperties.getProperty(CONTEXT_EXIT))) {
+				log.info("Context exits on refresh, skipping schema migration");
+				return;
+			}
+			flyway.migrate();
+		};
+	}
+}
@@ -1,22 +1,64 @@
 package com.dev.project.employee.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestPart;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.dev.project.employee.config.ContentNegotiationConfig;
+import com.dev.project.employee.exception.EmployeeDomainException;
+import com.dev.project.employee.exception.EmployeeIngestRejectedException;
+import com.dev.project.employee.exception.EmployeeNotFoundException;
+import com.dev.project.employee.metrics.EmployeeMetrics;
+import com.dev.project.employee.models.BatchItemResult;
 import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeChanges;
+import com.dev.project.employee.models.EmployeeListing;
+import com.dev.project.employee.models.EmployeeLookup;
+import com.dev.project.employee.models.EmployeePatch;
+import com.dev.project.employee.models.EmployeeSummary;
+import com.dev.project.employee.models.ImportJob;
+import com.dev.project.employee.models.IngestTicket;
 import com.dev.project.employee.models.LogDescription;
 import com.dev.project.employee.models.Response;
+import com.dev.project.employee.models.Status;
+import com.dev.project.employee.models.VersionTag;
+import com.dev.project.employee.service.EmployeeChangeFeed;
+import com.dev.project.employee.service.EmployeeImportJobs;
+import com.dev.project.employee.service.EmployeeIngestQueue;
 import com.dev.project.employee.service.EmployeeService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -29,61 +71,363 @@ import lombok.extern.slf4j.Slf4j;
 public class EmployeeController {
 	
     private final EmployeeService service;
+    
+    private final ObjectMapper objectMapper;
+    
+    private final EmployeeMetrics metrics;
+    
+    private final EmployeeIngestQueue ingestQueue;
+    
+    private final EmployeeChangeFeed changeFeed;
+    
+    private final IdempotencyStore idempotency;
+    
+    private final MappingJackson2CborHttpMessageConverter cborConverter;
+    
+    private final EmployeeImportJobs importJobs;
 
     @PostMapping
-    public ResponseEntity<Response<Employee>> createEmployee(@Valid @RequestBody Employee employee) {
+    public ResponseEntity<Response<Employee>> createEmployee(
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody Employee employee) {
+        // A retried create is answered from the store instead of inserting a second row
+        return idempotency.execute(idempotencyKey, fingerprint("POST", null, employee), () -> create(employee));
+    }
+    
+    private ResponseEntity<Response<Employee>> create(Employee employee) {
         try {
         	
-            log.info(LogDescription.CREATING_EMPLOYEE.getLog(), employee);
+            log.debug(LogDescription.CREATING_EMPLOYEE.getLog());
             
             Response<Employee> employeeResponse = service.create(employee);
             
-            log.info(LogDescription.CREATED_EMPLOYEE.getLog(), employeeResponse.getData().getId());
+            log.debug(LogDescription.CREATED_EMPLOYEE.getPattern(), employeeResponse.getData().getId());
             
             return new ResponseEntity<>(employeeResponse, HttpStatus.CREATED);
+        } catch (DataIntegrityViolationException e) {
+        	
+            // Email already in use, mapped to 409 by EmployeeExceptionalHandler
+            throw e;
         } catch (Exception e) {
         	
             log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_CREATING_EMPLOYEE.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_CREATING_EMPLOYEE, e);
+            
+            return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
+        }
+        
+    }
+    
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<BatchItemResult>>> createEmployees(@RequestBody List<Employee> employees) {
+        try {
+        	
+            log.debug(LogDescription.CREATING_EMPLOYEES.getPattern(), employees.size());
+            
+            Response<List<BatchItemResult>> employeeResponse = service.createAll(employees);
+            
+            log.debug(employeeResponse.getMessage());
+            
+            // 207 tells the caller to look at the per-item results
+            boolean allCreated = employeeResponse.getData().stream()
+                    .allMatch(result -> result.getStatus() == Status.SUCCESS);
+            return new ResponseEntity<>(employeeResponse, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+        } catch (DataIntegrityViolationException e) {
+        	
+            // An email taken by a concurrent write after the batch checked it, mapped to 409 by EmployeeExceptionalHandler
+            throw e;
+        } catch (Exception e) {
+        	
+            log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_CREATING_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_CREATING_EMPLOYEES, e);
+            
+            return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
+        }
+        
+    }
+    
+    @PostMapping("/ingest")
+    public ResponseEntity<Response<IngestTicket>> ingestEmployees(@RequestBody List<Employee> employees) {
+        try {
+        	
+            log.debug(LogDescription.INGESTING_EMPLOYEES.getPattern(), employees.size());
+            
+            IngestTicket ticket = ingestQueue.submit(employees);
+            Response<IngestTicket> ingestResponse = service.buildSuccessResponse(ticket, LogDescription.INGEST_ACCEPTED,
+                    ticket.getAccepted() - ticket.getFailed(), ticket.getAccepted());
+            
+            log.debug(ingestResponse.getMessage());
+            
+            // Written later by the flusher, the ticket is where the caller learns the outcome
+            return ResponseEntity.accepted()
+                    .location(URI.create("/employees/ingest/" + ticket.getId()))
+                    .body(ingestResponse);
+        } catch (EmployeeIngestRejectedException e) {
+        	
+            // Mapped to 503 with Retry-After by EmployeeExceptionalHandler
+            throw e;
+        } catch (Exception e) {
+        	
+            log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_INGESTING_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_INGESTING_EMPLOYEES, e);
             
             return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
         }
         
     }
     
+    @GetMapping("/ingest/{ticket}")
+    public ResponseEntity<Response<IngestTicket>> getIngestStatus(@PathVariable String ticket) {
+        return ingestQueue.status(ticket)
+                .map(status -> ResponseEntity.ok(service.buildSuccessResponse(status, LogDescription.INGEST_STATUS,
+                        status.getId(), status.getStatus())))
+                .orElseGet(() -> new ResponseEntity<>(Response.<IngestTicket>builder()
+                        .status(Status.FAILURE)
+                        .message(LogDescription.INGEST_TICKET_NOT_FOUND.getLog())
+                        .build(), HttpStatus.NOT_FOUND));
+    }
+    
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Response<ImportJob>> importEmployees(@RequestPart(value = "file", required = false) MultipartFile file) {
+        try {
+        	
+            if (file == null || file.isEmpty())
+                throw new IllegalArgumentException(LogDescription.IMPORT_FILE_REQUIRED.getLog());
+            log.debug(LogDescription.IMPORTING_EMPLOYEES.getPattern(), file.getOriginalFilename());
+            
+            // The container already spooled the upload to disk, this moves it out of the request's reach
+            Path csv = Files.createTempFile("employee-import-", ".csv");
+            try {
+                file.transferTo(csv);
+            } catch (IOException e) {
+                Files.deleteIfExists(csv);
+                throw e;
+            }
+            ImportJob job = importJobs.start(csv);
+            Response<ImportJob> importResponse = service.buildSuccessResponse(job, LogDescription.IMPORT_ACCEPTED, job.getId());
+            
+            log.debug(importResponse.getMessage());
+            
+            return ResponseEntity.accepted()
+                    .location(URI.create("/employees/import/" + job.getId()))
+                    .body(importResponse);
+        } catch (Exception e) {
+        	
+            log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_IMPORTING_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_IMPORTING_EMPLOYEES, e);
+            
+            return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
+        }
+        
+    }
+    
+    @GetMapping("/import/{job}")
+    public ResponseEntity<Response<ImportJob>> getImportStatus(@PathVariable String job) {
+        return importJobs.status(job)
+                .map(status -> ResponseEntity.ok(service.buildSuccessResponse(status, LogDescription.IMPORT_STATUS,
+                        status.getId(), status.getStatus())))
+                .orElseGet(EmployeeController::importJobNotFound);
+    }
+    
+    // Stops the job once the chunk being written commits, the chunks it already wrote are kept
+    @DeleteMapping("/import/{job}")
+    public ResponseEntity<Response<ImportJob>> cancelImport(@PathVariable String job) {
+        log.debug(LogDescription.IMPORT_CANCELLING.getPattern(), job);
+        return importJobs.cancel(job)
+                .map(status -> ResponseEntity.accepted().body(service.buildSuccessResponse(status,
+                        LogDescription.IMPORT_STATUS, status.getId(), status.getStatus())))
+                .orElseGet(EmployeeController::importJobNotFound);
+    }
+    
+    private static ResponseEntity<Response<ImportJob>> importJobNotFound() {
+        return new ResponseEntity<>(Response.<ImportJob>builder()
+                .status(Status.FAILURE)
+                .message(LogDescription.IMPORT_JOB_NOT_FOUND.getLog())
+                .build(), HttpStatus.NOT_FOUND);
+    }
+    
     @GetMapping
-    public ResponseEntity<Response<List<Employee>>> getAllEmployee() {
+    public ResponseEntity<? extends Response<?>> getAllEmployee(@RequestParam(required = false) String after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String department,
+            @RequestParam(required = false) String email,
+            @RequestParam(required = false) String namePrefix,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
         	
-            log.info(LogDescription.RETRIEVING_EMPLOYEES.getLog());
+            log.debug(LogDescription.RETRIEVING_EMPLOYEES.getLog());
             
-            Response<List<Employee>> employeeResponse = service.getAll();
+            EmployeeListing listing = service.list(department, email, namePrefix, after, limit, ifNoneMatch);
+            if (listing.isNotModified())
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(listing.getTag()).build();
             
-            log.info(LogDescription.RETRIEVED_EMPLOYEES.getLog());
+            log.debug(LogDescription.RETRIEVED_EMPLOYEES.getLog());
             
-            return new ResponseEntity<>(employeeResponse, HttpStatus.OK);
+            return withTag(listing.getResponse(), listing.getTag());
         } catch (Exception e) {
         	
             log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_RETRIEVING_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_RETRIEVING_EMPLOYEES, e);
+            
+            return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
+        }
+        
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<Response<List<EmployeeSummary>>> suggestEmployees(@RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer limit) {
+        try {
+        	
+            log.debug(LogDescription.SUGGESTING_EMPLOYEES.getLog());
+            
+            Response<List<EmployeeSummary>> employeeResponse = service.suggest(q, limit);
+            
+            log.debug(employeeResponse.getMessage());
+            
+            return new ResponseEntity<>(employeeResponse, HttpStatus.OK);
+        } catch (Exception e) {
+        	
+            log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_SUGGESTING_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_SUGGESTING_EMPLOYEES, e);
             
             return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
         }
         
     }
     
+    // Delta sync, clients send back the token of their last page and get what changed or was deleted since
+    @GetMapping("/changes")
+    public ResponseEntity<Response<EmployeeChanges>> getChanges(@RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        try {
+        	
+            log.debug(LogDescription.SYNCING_EMPLOYEES.getLog());
+            
+            Response<EmployeeChanges> changesResponse = service.changes(since, limit);
+            
+            log.debug(changesResponse.getMessage());
+            
+            return new ResponseEntity<>(changesResponse, HttpStatus.OK);
+        } catch (EmployeeDomainException e) {
+        	
+            // An expired token is answered with a 410 by EmployeeExceptionalHandler, the client starts over
+            throw e;
+        } catch (Exception e) {
+        	
+            log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_SYNCING_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_SYNCING_EMPLOYEES, e);
+            
+            return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
+        }
+        
+    }
+    
+    @GetMapping(value = "/export", produces = { MediaType.APPLICATION_NDJSON_VALUE,
+            ContentNegotiationConfig.APPLICATION_CBOR_SEQ_VALUE })
+    public ResponseEntity<StreamingResponseBody> exportEmployees(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+    	
+        if (prefersCborSequence(accept)) {
+            // CBOR items are self-delimiting, they are written back to back without a separator
+            ObjectWriter itemWriter = cborConverter.getObjectMapper().writerFor(Employee.class)
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            
+            return export(itemWriter, ContentNegotiationConfig.APPLICATION_CBOR_SEQ, false);
+        }
+        
+        // One JSON document per line, the target stream is left open for the container to close
+        ObjectWriter lineWriter = objectMapper.writerFor(Employee.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        
+        return export(lineWriter, MediaType.APPLICATION_NDJSON, true);
+    }
+    
+    // Change feed, a reconnecting EventSource sends the id of the last event it saw as Last-Event-ID
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+    
+    private ResponseEntity<StreamingResponseBody> export(ObjectWriter writer, MediaType contentType, boolean lineTerminated) {
+    	
+        log.info(LogDescription.EXPORTING_EMPLOYEES.getLog());
+        
+        StreamingResponseBody body = out -> {
+            long count;
+            try (SequenceWriter items = writer.writeValues(out)) {
+                count = service.exportAll(employee -> {
+                    try {
+                        items.write(employee);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_EXPORTING_EMPLOYEES.getLog(), e);
+                metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_EXPORTING_EMPLOYEES, e);
+                throw e;
+            }
+            if (lineTerminated && count > 0)
+                out.write('\n');
+            
+            log.info(LogDescription.EXPORTED_EMPLOYEES.getPattern(), count);
+        };
+        
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Response<Employee>> getEmployeeById(@PathVariable Long id) {
+    public ResponseEntity<Response<Employee>> getEmployeeById(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
         	
-            log.info(LogDescription.RETRIEVING_EMPLOYEE.getLog());
+            log.debug(LogDescription.RETRIEVING_EMPLOYEE.getLog());
+            
+            // Version-only lookup, the row is neither loaded nor serialized when the client copy is current
+            if (ifNoneMatch != null) {
+                Optional<Long> version = service.findVersion(id);
+                if (version.isPresent() && VersionTag.matches(ifNoneMatch, VersionTag.format(version.get())))
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(VersionTag.format(version.get())).build();
+            }
             
             Response<Employee> employeeResponse = service.getById(id);
             
-            log.info(LogDescription.RETRIEVED_EMPLOYEE.getLog());
+            log.debug(LogDescription.RETRIEVED_EMPLOYEE.getLog());
             
-            return new ResponseEntity<>(employeeResponse, HttpStatus.OK);
+            Long version = employeeResponse.getData() != null ? employeeResponse.getData().getVersion() : null;
+            return withTag(employeeResponse, version != null ? VersionTag.format(version) : null);
+        } catch (EmployeeDomainException e) {
+        	
+            // An expected miss, answered by EmployeeExceptionalHandler without an ERROR log or a stack trace
+            throw e;
         } catch (Exception e) {
         	
             log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_RETRIEVING_EMPLOYEE.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_RETRIEVING_EMPLOYEE, e);
+            
+            return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
+        }
+        
+    }
+    
+    // Multi-get by id list. POST so hundreds of ids never hit a URL length limit, it still reads only
+    @PostMapping("/lookup")
+    public ResponseEntity<Response<EmployeeLookup>> lookupEmployees(@RequestBody List<Long> ids) {
+        try {
+        	
+            log.debug(LogDescription.LOOKING_UP_EMPLOYEES.getPattern(), ids.size());
+            
+            Response<EmployeeLookup> lookupResponse = service.lookup(ids);
+            
+            log.debug(lookupResponse.getMessage());
+            
+            return new ResponseEntity<>(lookupResponse, HttpStatus.OK);
+        } catch (Exception e) {
+        	
+            log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_LOOKING_UP_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_LOOKING_UP_EMPLOYEES, e);
             
             return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
         }
@@ -91,42 +435,131 @@ public class EmployeeController {
     }
     
     @PutMapping("/{id}")
-    public ResponseEntity<Response<Employee>> updateEmployee(@PathVariable Long id, @Valid @RequestBody Employee employee) {
+    public ResponseEntity<Response<Employee>> updateEmployee(@PathVariable Long id,
+            @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody Employee employee) {
+        return idempotency.execute(idempotencyKey, fingerprint("PUT", id, employee), () -> update(id, employee));
+    }
+    
+    private ResponseEntity<Response<Employee>> update(Long id, Employee employee) {
         try {
         	
-            log.info(LogDescription.UPDATING_EMPLOYEE.getLog());
+            log.debug(LogDescription.UPDATING_EMPLOYEE.getLog());
             
             Response<Employee> employeeResponse =  service.update(id, employee);
             
-            log.info(LogDescription.UPDATED_EMPLOYEE.getLog());
+            log.debug(LogDescription.UPDATED_EMPLOYEE.getLog());
             
             return new ResponseEntity<>(employeeResponse, HttpStatus.OK);
+        } catch (EmployeeDomainException | DataIntegrityViolationException e) {
+        	
+            // Mapped to 404, or 409 for an email already in use, by EmployeeExceptionalHandler
+            throw e;
         } catch (Exception e) {
         	
             log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_UPDATING_EMPLOYEE.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_UPDATING_EMPLOYEE, e);
             
             return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
         }
         
     }
     
+    @PatchMapping("/{id}")
+    public ResponseEntity<Response<Employee>> patchEmployee(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody EmployeePatch patch) {
+    	
+        if (ifMatch == null) {
+            Response<Employee> required = Response.<Employee>builder()
+                    .status(Status.FAILURE)
+                    .message(LogDescription.IF_MATCH_REQUIRED.getLog())
+                    .build();
+            return new ResponseEntity<>(required, HttpStatus.PRECONDITION_REQUIRED);
+        }
+        
+        log.debug(LogDescription.PATCHING_EMPLOYEE.getLog());
+        
+        // A tag we never issued cannot match any version, -1 makes the guarded UPDATE miss
+        Long version = VersionTag.parse(ifMatch);
+        Response<Employee> employeeResponse = service.patch(id, version != null ? version : -1L, patch);
+        
+        log.debug(LogDescription.PATCHED_EMPLOYEE.getLog());
+        
+        // Not-found and version conflicts are mapped to 404/412 by EmployeeExceptionalHandler
+        return ResponseEntity.ok()
+                .eTag(VersionTag.format(employeeResponse.getData().getVersion()))
+                .body(employeeResponse);
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Response<Void>> deleteEmployee(@PathVariable Long id) {
         try {
         	
-            log.info(LogDescription.DELETING_EMPLOYEE.getLog());
+            log.debug(LogDescription.DELETING_EMPLOYEE.getLog());
             
             Response<Void> employeeResponse =  service.delete(id);
             
-            log.info(LogDescription.DELETED_EMPLOYEE.getLog());
+            log.debug(LogDescription.DELETED_EMPLOYEE.getLog());
             
             return new ResponseEntity<>(employeeResponse, HttpStatus.OK);
+        } catch (EmployeeNotFoundException e) {
+        	
+            // Mapped to 404 by EmployeeExceptionalHandler
+            throw e;
         } catch (Exception e) {
         	
             log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_DELETING_EMPLOYEE.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_DELETING_EMPLOYEE, e);
             
             return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
         }
         
     }
+    
+    @DeleteMapping
+    public ResponseEntity<Response<Integer>> deleteEmployees(@RequestParam(required = false) List<Long> ids,
+            @RequestParam(required = false) String department) {
+        try {
+        	
+            log.debug(LogDescription.DELETING_EMPLOYEES.getLog());
+            
+            Response<Integer> employeeResponse = service.deleteAll(ids, department);
+            
+            log.debug(LogDescription.DELETED_EMPLOYEES.getPattern(), employeeResponse.getData());
+            
+            return new ResponseEntity<>(employeeResponse, HttpStatus.OK);
+        } catch (Exception e) {
+        	
+            log.error(LogDescription.EXCEPTION_OCCURRED_WHILE_DELETING_EMPLOYEES.getLog(), e.getMessage(), e);
+            metrics.recordFailure(LogDescription.EXCEPTION_OCCURRED_WHILE_DELETING_EMPLOYEES, e);
+            
+            return service.buildErrorResponse(e, LogDescription.EXCEPTION_OCCURED);
+        }
+        
+    }
+    
+    // NDJSON unless Accept ranks the CBOR sequence first, so */* and a missing header keep the line format
+    private static boolean prefersCborSequence(String accept) {
+        if (accept == null)
+            return false;
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.includes(MediaType.APPLICATION_NDJSON))
+                return false;
+            if (type.includes(ContentNegotiationConfig.APPLICATION_CBOR_SEQ))
+                return true;
+        }
+        return false;
+    }
+    
+    // Taken before the service runs, create assigns the id on the same object
+    private static List<Object> fingerprint(String method, Long id, Employee employee) {
+        return Arrays.asList(method, id, employee.getName(), employee.getDepartment(), employee.getEmail());
+    }
+    
+    private static <T> ResponseEntity<T> withTag(T body, String tag) {
+        return tag != null ? ResponseEntity.ok().eTag(tag).body(body) : ResponseEntity.ok(body);
+    }
 }
@@ -0,0 +1,151 @@
+package com.dev.project.employee.controller;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeIdempotencyKeyInProgressException;
+import com.dev.project.employee.exception.EmployeeIdempotencyKeyReusedException;
+import com.dev.project.employee.models.LogDescription;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers successful responses by Idempotency-Key so a retried request is
+ * answered from memory instead of writing again. The first request with a key
+ * runs, duplicates that arrive while it is in flight wait for its response.
+ * Only 2xx responses are kept, after a failure the next request with the key
+ * runs again. Keys are global and held in this instance only.
+ */
+@Slf4j
+@Component
+public class IdempotencyStore {
+
+	public static final String HEADER = "Idempotency-Key";
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+	public static final String REQUESTS = "employee.idempotency.requests";
+
+	// Completes with the stored response, or with null when the first request was not stored
+	private final Cache<String, CompletableFuture<Stored>> responses;
+
+	private final long waitTimeoutNanos;
+	private final int maxKeyLength;
+
+	private final Counter executed;
+	private final Counter replayed;
+	private final Counter reused;
+	private final Counter inProgress;
+
+	public IdempotencyStore(EmployeeProperties properties, MeterRegistry registry) {
+		EmployeeProperties.Idempotency config = properties.getIdempotency();
+		this.responses = config.isEnabled()
+				? Caffeine.newBuilder()
+						.maximumSize(config.getMaximumSize())
+						.expireAfterWrite(config.getTimeToLive())
+						.build()
+				: null;
+		this.waitTimeoutNanos = config.getWaitTimeout().toNanos();
+		this.maxKeyLength = config.getMaxKeyLength();
+
+		if (responses != null)
+			Gauge.builder("employee.idempotency.keys", responses, Cache::estimatedSize)
+					.description("Idempotency keys held, in flight or completed")
+					.register(registry);
+		this.executed = requests(registry, "executed");
+		this.replayed = requests(registry, "replayed");
+		this.reused = requests(registry, "reused");
+		this.inProgress = requests(registry, "in_progress");
+	}
+
+	/**
+	 * Runs the action once per key. The fingerprint identifies the request the
+	 * key was first used for, a later request with the same key and a different
+	 * fingerprint is refused.
+	 */
+	public <T> ResponseEntity<T> execute(String key, Object fingerprint, Supplier<ResponseEntity<T>> action) {
+		if (key == null || responses == null)
+			return action.get();
+		if (key.isBlank() || key.length() > maxKeyLength)
+			throw new IllegalArgumentException(LogDescription.IDEMPOTENCY_KEY_INVALID.getLog().formatted(maxKeyLength));
+
+		while (true) {
+			CompletableFuture<Stored> mine = new CompletableFuture<>();
+			CompletableFuture<Stored> first = responses.asMap().putIfAbsent(key, mine);
+			if (first == null)
+				return run(key, fingerprint, mine, action);
+
+			Stored stored = await(first);
+			// The first request failed and released the key, this one takes its place
+			if (stored == null)
+				continue;
+			if (!stored.fingerprint().equals(fingerprint)) {
+				reused.increment();
+				throw new EmployeeIdempotencyKeyReusedException(LogDescription.IDEMPOTENCY_KEY_REUSED.getLog());
+			}
+			replayed.increment();
+			log.debug(LogDescription.REPLAYING_RESPONSE.getPattern(), key);
+			return replay(stored);
+		}
+	}
+
+	private <T> ResponseEntity<T> run(String key, Object fingerprint, CompletableFuture<Stored> mine,
+			Supplier<ResponseEntity<T>> action) {
+		executed.increment();
+		ResponseEntity<T> response = null;
+		try {
+			response = action.get();
+			return response;
+		} finally {
+			if (response != null && response.getStatusCode().is2xxSuccessful()) {
+				mine.complete(new Stored(fingerprint, response));
+			} else {
+				responses.asMap().remove(key, mine);
+				mine.complete(null);
+			}
+		}
+	}
+
+	private Stored await(CompletableFuture<Stored> first) {
+		try {
+			return first.get(waitTimeoutNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			inProgress.increment();
+			throw new EmployeeIdempotencyKeyInProgressException(LogDescription.IDEMPOTENCY_KEY_IN_PROGRESS.getLog());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new EmployeeIdempotencyKeyInProgressException(LogDescription.IDEMPOTENCY_KEY_IN_PROGRESS.getLog());
+		} catch (ExecutionException e) {
+			// Never completed exceptionally, run() always completes with a value
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> ResponseEntity<T> replay(Stored stored) {
+		return (ResponseEntity<T>) ResponseEntity.status(stored.response().getStatusCode())
+				.headers(stored.response().getHeaders())
+				.header(REPLAYED_HEADER, "true")
+				.body(stored.response().getBody());
+	}
+
+	private static Counter requests(MeterRegistry registry, String result) {
+		return Counter.builder(REQUESTS)
+				.description("Requests carrying an Idempotency-Key, by outcome")
+				.tag("result", result)
+				.register(registry);
+	}
+
+	private record Stored(Object fingerprint, ResponseEntity<?> response) {
+	}
+}
@@ -0,0 +1,16 @@
+package com.dev.project.employee.exception;
+
+/**
+ * Expected outcome of a request, such as a missing employee or a stale version,
+ * mapped to a 4xx or 503 by EmployeeExceptionalHandler. These are thrown on hot
+ * paths and never logged with a trace, so they skip the stack trace capture and
+ * the suppression list.
+ */
+public abstract class EmployeeDomainException extends RuntimeException {
+
+	private static final long serialVersionUID = 1L;
+
+	protected EmployeeDomainException(String message) {
+		super(message, null, false, false);
+	}
+}
@@ -3,25 +3,90 @@ package com.dev.project.employee.exception;
 import java.util.Comparator;
 import java.util.List;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.dev.project.employee.metrics.EmployeeMetrics;
 import com.dev.project.employee.models.LogDescription;
 import com.dev.project.employee.models.Response;
 import com.dev.project.employee.models.Status;
 
+import lombok.RequiredArgsConstructor;
+
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class EmployeeExceptionalHandler {
+	
+	// Fixed-message failures are answered with the same immutable entity every time, never mutate their bodies
+	private static final ResponseEntity<Response<Object>> NOT_FOUND = precomputed(LogDescription.EMPLOYEE_NOT_FOUND, HttpStatus.NOT_FOUND);
+	private static final ResponseEntity<Response<Object>> VERSION_CONFLICT = precomputed(LogDescription.EMPLOYEE_VERSION_CONFLICT, HttpStatus.PRECONDITION_FAILED);
+	private static final ResponseEntity<Response<Object>> IDEMPOTENCY_KEY_REUSED = precomputed(LogDescription.IDEMPOTENCY_KEY_REUSED, HttpStatus.UNPROCESSABLE_ENTITY);
+	private static final ResponseEntity<Response<Object>> IDEMPOTENCY_KEY_IN_PROGRESS = precomputed(LogDescription.IDEMPOTENCY_KEY_IN_PROGRESS, HttpStatus.CONFLICT);
+	private static final ResponseEntity<Response<Object>> SYNC_TOKEN_EXPIRED = precomputed(LogDescription.SYNC_TOKEN_EXPIRED, HttpStatus.GONE);
+	private static final ResponseEntity<Response<Object>> EMAIL_TAKEN = precomputed(LogDescription.EMPLOYEE_EMAIL_TAKEN, HttpStatus.CONFLICT);
+	
+	private final EmployeeMetrics metrics;
+	
+	// Scanners probing random ids make this the hottest failure, it neither logs nor allocates an envelope
 	@ExceptionHandler(EmployeeNotFoundException.class)
-    public ResponseEntity<Object> handleNotFound(EmployeeNotFoundException ex) {
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
+    public ResponseEntity<Response<Object>> handleNotFound(EmployeeNotFoundException ex) {
+		metrics.recordFailure(LogDescription.EMPLOYEE_NOT_FOUND, ex);
+        return NOT_FOUND;
+    }
+	
+	@ExceptionHandler(EmployeeVersionConflictException.class)
+    public ResponseEntity<Response<Object>> handleVersionConflict(EmployeeVersionConflictException ex) {
+		metrics.recordFailure(LogDescription.EMPLOYEE_VERSION_CONFLICT, ex);
+        return VERSION_CONFLICT;
+    }
+	
+	@ExceptionHandler(EmployeeIdempotencyKeyReusedException.class)
+    public ResponseEntity<Response<Object>> handleIdempotencyKeyReused(EmployeeIdempotencyKeyReusedException ex) {
+		metrics.recordFailure(LogDescription.IDEMPOTENCY_KEY_REUSED, ex);
+        return IDEMPOTENCY_KEY_REUSED;
+    }
+	
+	@ExceptionHandler(EmployeeIdempotencyKeyInProgressException.class)
+    public ResponseEntity<Response<Object>> handleIdempotencyKeyInProgress(EmployeeIdempotencyKeyInProgressException ex) {
+		metrics.recordFailure(LogDescription.IDEMPOTENCY_KEY_IN_PROGRESS, ex);
+        return IDEMPOTENCY_KEY_IN_PROGRESS;
+    }
+	
+	@ExceptionHandler(EmployeeSyncTokenExpiredException.class)
+    public ResponseEntity<Response<Object>> handleSyncTokenExpired(EmployeeSyncTokenExpiredException ex) {
+		metrics.recordFailure(LogDescription.SYNC_TOKEN_EXPIRED, ex);
+        return SYNC_TOKEN_EXPIRED;
+    }
+	
+	// The unique email index is the only constraint a client can trip
+	@ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Response<Object>> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+		metrics.recordFailure(LogDescription.EMPLOYEE_EMAIL_TAKEN, ex);
+        return EMAIL_TAKEN;
+    }
+	
+	@ExceptionHandler(EmployeeIngestRejectedException.class)
+    public ResponseEntity<Response<Object>> handleIngestRejected(EmployeeIngestRejectedException ex) {
+		metrics.recordFailure(LogDescription.INGEST_QUEUE_FULL, ex);
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        		.header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+        		.body(failure(ex.getMessage()));
+    }
+	
+	@ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Response<Object>> handleIllegalArgument(IllegalArgumentException ex) {
+		metrics.recordFailure(LogDescription.EXCEPTION_OCCURED, ex);
+        return new ResponseEntity<>(failure(ex.getMessage()), HttpStatus.BAD_REQUEST);
     }
 	
 	@ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Response<Object>> handleValidationException(MethodArgumentNotValidException ex) {
+		metrics.recordFailure(LogDescription.VALIDATION_FAILED, ex);
 
         // Collect all validation error messages
 		List<String> errors = ex.getBindingResult().getFieldErrors()
@@ -39,6 +104,17 @@ public class EmployeeExceptionalHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
 	
+	private static ResponseEntity<Response<Object>> precomputed(LogDescription description, HttpStatus status) {
+		return new ResponseEntity<>(failure(description.getLog()), status);
+	}
+	
+	private static Response<Object> failure(String message) {
+		return Response.builder()
+				.status(Status.FAILURE)
+				.message(message)
+				.build();
+	}
+	
 	private int fieldOrder(String field) {
 	    return switch (field) {
 	        case "name" -> 1;
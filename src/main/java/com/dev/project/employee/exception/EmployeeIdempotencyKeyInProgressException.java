@@ -0,0 +1,10 @@
+package com.dev.project.employee.exception;
+
+public class EmployeeIdempotencyKeyInProgressException extends EmployeeDomainException {
+
+	private static final long serialVersionUID = 1L;
+
+	public EmployeeIdempotencyKeyInProgressException(String message) {
+        super(message);
+    }
+}
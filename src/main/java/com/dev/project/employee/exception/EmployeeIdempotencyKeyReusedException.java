@@ -0,0 +1,10 @@
+package com.dev.project.employee.exception;
+
+public class EmployeeIdempotencyKeyReusedException extends EmployeeDomainException {
+
+	private static final long serialVersionUID = 1L;
+
+	public EmployeeIdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.dev.project.employee.exception;
+
+public class EmployeeIngestRejectedException extends EmployeeDomainException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public EmployeeIngestRejectedException(String message, long retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
@@ -1,8 +1,7 @@
 package com.dev.project.employee.exception;
 
-public class EmployeeNotFoundException extends RuntimeException {
+public class EmployeeNotFoundException extends EmployeeDomainException {
 
-   
 	private static final long serialVersionUID = 1L;
 
 	public EmployeeNotFoundException(String message) {
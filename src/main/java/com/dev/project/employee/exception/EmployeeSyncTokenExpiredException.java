@@ -0,0 +1,10 @@
+package com.dev.project.employee.exception;
+
+public class EmployeeSyncTokenExpiredException extends EmployeeDomainException {
+
+	private static final long serialVersionUID = 1L;
+
+	public EmployeeSyncTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.dev.project.employee.exception;
+
+public class EmployeeVersionConflictException extends EmployeeDomainException {
+
+	private static final long serialVersionUID = 1L;
+
+	public EmployeeVersionConflictException(String message) {
+        super(message);
+    }
+}
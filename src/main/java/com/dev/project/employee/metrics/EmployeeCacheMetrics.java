@@ -0,0 +1,29 @@
+package com.dev.project.employee.metrics;
+
+import org.springframework.stereotype.Component;
+
+import com.dev.project.employee.service.EmployeeCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class EmployeeCacheMetrics implements MeterBinder {
+
+	private final EmployeeCache cache;
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		FunctionCounter.builder("employee.cache.requests", cache, c -> c.stats().hitCount())
+				.tag("result", "hit")
+				.register(registry);
+		FunctionCounter.builder("employee.cache.requests", cache, c -> c.stats().missCount())
+				.tag("result", "miss")
+				.register(registry);
+		FunctionCounter.builder("employee.cache.evictions", cache, c -> c.stats().evictionCount())
+				.register(registry);
+	}
+}
@@ -0,0 +1,44 @@
+package com.dev.project.employee.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.dev.project.employee.models.LogDescription;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Application level meters. HTTP latency, repository timers and pool gauges come
+ * from Spring Boot's own instrumentation.
+ */
+@Component
+public class EmployeeMetrics {
+
+	public static final String FAILURES = "employee.failures";
+
+	private final MeterRegistry registry;
+
+	// Registered once per series, a repeated failure is a map lookup and an increment with no allocation
+	private final Map<LogDescription, Map<Class<?>, Counter>> failures = new EnumMap<>(LogDescription.class);
+
+	public EmployeeMetrics(MeterRegistry registry) {
+		this.registry = registry;
+		for (LogDescription path : LogDescription.values())
+			failures.put(path, new ConcurrentHashMap<>());
+	}
+
+	// One series per failure path and exception type, both are small closed sets
+	public void recordFailure(LogDescription path, Throwable exception) {
+		failures.get(path)
+				.computeIfAbsent(exception.getClass(), type -> Counter.builder(FAILURES)
+						.description("Requests that ended on a failure path")
+						.tag("path", path.name())
+						.tag("exception", type.getSimpleName())
+						.register(registry))
+				.increment();
+	}
+}
@@ -1,21 +1,37 @@
 package com.dev.project.employee.models;
 
 
+import org.hibernate.annotations.ColumnDefault;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 @Entity
+// Department carries the id so a filtered keyset page is read in index order without a sort
+@Table(indexes = {
+        @Index(name = "idx_employee_department_id", columnList = "department, id"),
+        @Index(name = "idx_employee_name_id", columnList = "name, id"),
+        @Index(name = "ux_employee_email", columnList = "email", unique = true),
+        @Index(name = "idx_employee_change_seq_id", columnList = "change_seq, id") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -24,7 +40,9 @@ import lombok.NoArgsConstructor;
 @JsonInclude(JsonInclude.Include.NON_NULL)
 public class Employee {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence: ids are handed out in blocks so inserts can be JDBC-batched
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Name is required")
@@ -35,5 +53,28 @@ public class Employee {
 
     @Email(message = "Email should be valid")
     private String email;
+
+    // Optimistic lock, echoed back by clients in If-Match and never accepted from a request body
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
+    // Position in the change log, delta sync pages on (change_seq, id). Bookkeeping only, never serialized
+    @ColumnDefault("0")
+    @Column(name = "change_seq", nullable = false)
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    @Builder.Default
+    private Long changeSeq = 0L;
+
+    public Employee(Long id, String name, String department, String email) {
+        this(id, name, department, email, null);
+    }
+
+    public Employee(Long id, String name, String department, String email, Long version) {
+        this(id, name, department, email, version, 0L);
+    }
 }
 
@@ -0,0 +1,25 @@
+package com.dev.project.employee.models;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * The one row holding the last change number handed out. Only ever read and
+ * incremented in place, see EmployeeChangeLog.
+ */
+@Entity
+@Table(name = "employee_change_counter")
+@Getter
+@NoArgsConstructor
+public class EmployeeChangeCounter {
+
+	@Id
+	private Integer id;
+
+	@Column(name = "last_seq", nullable = false)
+	private Long lastSeq;
+}
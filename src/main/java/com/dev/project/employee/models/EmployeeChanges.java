@@ -0,0 +1,26 @@
+package com.dev.project.employee.models;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One page of a delta sync. Changed employees are sent whole, deletes as ids.
+ * The client keeps the token for its next request and asks again right away
+ * while hasMore is true.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class EmployeeChanges {
+
+	private final List<Employee> changed;
+
+	// May name employees the client never saw, created and deleted between two syncs
+	private final List<Long> deleted;
+
+	private final String token;
+	private final boolean hasMore;
+}
@@ -0,0 +1,41 @@
+package com.dev.project.employee.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * One committed change, as pushed to change feed subscribers. The sequence
+ * number travels as the SSE event id, not in this body.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeEvent {
+
+	private final EmployeeEventType type;
+
+	// Null only for a delete by department, which does not know the ids it removed
+	private final Long employeeId;
+
+	// Set for a delete by department
+	private final String department;
+
+	// The employee after the change, for PATCHED only the id, the new version and the supplied fields
+	private final Employee employee;
+
+	public static EmployeeEvent of(EmployeeEventType type, Employee employee) {
+		return new EmployeeEvent(type, employee.getId(), null, employee);
+	}
+
+	public static EmployeeEvent deleted(Long id) {
+		return new EmployeeEvent(EmployeeEventType.DELETED, id, null, null);
+	}
+
+	public static EmployeeEvent departmentDeleted(String department) {
+		return new EmployeeEvent(EmployeeEventType.DELETED, null, department, null);
+	}
+}
@@ -0,0 +1,11 @@
+package com.dev.project.employee.models;
+
+public enum EmployeeEventType {
+
+	CREATED,
+	UPDATED,
+	// Carries only the id, the new version and the fields the PATCH supplied
+	PATCHED,
+	DELETED;
+
+}
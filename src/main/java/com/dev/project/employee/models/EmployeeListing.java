@@ -0,0 +1,23 @@
+package com.dev.project.employee.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A page or search result with the collection tag read in the same
+ * transaction. The response is null when the caller already holds the tag.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class EmployeeListing {
+
+	private final String tag;
+
+	private final Response<?> response;
+
+	public boolean isNotModified() {
+		return response == null;
+	}
+}
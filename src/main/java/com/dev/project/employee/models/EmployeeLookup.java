@@ -0,0 +1,21 @@
+package com.dev.project.employee.models;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Result of a multi-get. Both lists follow the order of the requested ids, an
+ * id asked for twice is answered once at its first position.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class EmployeeLookup {
+
+	private final List<Employee> employees;
+
+	private final List<Long> missing;
+}
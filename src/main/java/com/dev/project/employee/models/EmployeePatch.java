@@ -0,0 +1,37 @@
+package com.dev.project.employee.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.Pattern;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Partial update of an employee. Absent (null) fields are left unchanged,
+ * present ones follow the same rules as {@link Employee}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonPropertyOrder({"name", "email", "department"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeePatch {
+
+    @Pattern(regexp = ".*\\S.*", message = "Name is required")
+    private String name;
+
+    @Pattern(regexp = ".*\\S.*", message = "Department is required")
+    private String department;
+
+    @Email(message = "Email should be valid")
+    private String email;
+
+    public boolean isEmpty() {
+        return name == null && department == null && email == null;
+    }
+}
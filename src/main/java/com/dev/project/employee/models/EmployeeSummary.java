@@ -0,0 +1,27 @@
+package com.dev.project.employee.models;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection returned by the filtered list. Built straight from the
+ * selected columns, so no entity is managed, dirty checked or cached.
+ */
+@Getter
+@AllArgsConstructor
+@JsonPropertyOrder({"name", "email", "department"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeSummary {
+
+	private final Long id;
+	private final String name;
+	private final String department;
+	private final String email;
+
+	public static EmployeeSummary of(Employee employee) {
+		return new EmployeeSummary(employee.getId(), employee.getName(), employee.getDepartment(), employee.getEmail());
+	}
+}
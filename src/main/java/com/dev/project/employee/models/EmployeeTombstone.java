@@ -0,0 +1,50 @@
+package com.dev.project.employee.models;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Record of a deleted employee, kept for the retention window so delta sync can
+ * report the delete. Ids come from a sequence and are never reused, so the
+ * employee id is the key.
+ */
+@Entity
+@Table(name = "employee_tombstone", indexes = {
+		@Index(name = "idx_tombstone_change_seq_id", columnList = "change_seq, employee_id"),
+		@Index(name = "idx_tombstone_deleted_at", columnList = "deleted_at") })
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeTombstone implements Persistable<Long> {
+
+	@Id
+	@Column(name = "employee_id")
+	private Long employeeId;
+
+	@Column(name = "change_seq", nullable = false)
+	private Long changeSeq;
+
+	@Column(name = "deleted_at", nullable = false)
+	private Instant deletedAt;
+
+	@Override
+	public Long getId() {
+		return employeeId;
+	}
+
+	// Only ever inserted, so save() persists without first selecting by the assigned id
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+}
@@ -0,0 +1,33 @@
+package com.dev.project.employee.models;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Point-in-time view of a CSV import. Rows are counted from 1 after the
+ * header. Chunks written before a cancellation or a failure stay written.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ImportJob {
+
+	private final String id;
+	private final ImportStatus status;
+
+	// Share of the uploaded bytes parsed so far, 0 to 100
+	private final int progress;
+
+	private final long rowsRead;
+	private final long imported;
+	private final long failed;
+
+	// "row: message" for the first maxErrors failed rows, failed keeps counting past them
+	private final List<String> errors;
+}
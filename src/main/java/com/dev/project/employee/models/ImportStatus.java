@@ -0,0 +1,11 @@
+package com.dev.project.employee.models;
+
+public enum ImportStatus {
+
+	QUEUED,
+	RUNNING,
+	COMPLETED,
+	CANCELLED,
+	FAILED;
+
+}
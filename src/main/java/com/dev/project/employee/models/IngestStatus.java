@@ -0,0 +1,8 @@
+package com.dev.project.employee.models;
+
+public enum IngestStatus {
+
+	PENDING,
+	COMPLETED;
+
+}
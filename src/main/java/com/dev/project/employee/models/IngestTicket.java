@@ -0,0 +1,35 @@
+package com.dev.project.employee.models;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Point-in-time view of an ingestion submission. Every accepted item ends up
+ * exactly once in processed, coalesced or failed.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class IngestTicket {
+
+	private final String id;
+	private final IngestStatus status;
+	private final int accepted;
+
+	// Written to the database, as an insert or an update
+	private final int processed;
+
+	// Superseded by a later item for the same email in the same flush
+	private final int coalesced;
+
+	private final int failed;
+
+	// "index: message" per failed item, index is the position in the submitted list
+	private final List<String> errors;
+}
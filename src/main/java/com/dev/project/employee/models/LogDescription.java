@@ -4,6 +4,8 @@ public enum LogDescription {
 	
 	CREATING_EMPLOYEE("Creating new employee"),
 	CREATED_EMPLOYEE("Employee created successfully with ID: %d"),
+	CREATING_EMPLOYEES("Creating %d employees"),
+	CREATED_EMPLOYEES("Created %d of %d employees"),
 	
 	RETRIEVING_EMPLOYEES("Retrieving employee records"),
 	RETRIEVED_EMPLOYEES("Retrieved employee records"),
@@ -12,33 +14,119 @@ public enum LogDescription {
 	RETRIEVING_EMPLOYEE("Retrieving employee record"),
 	RETRIEVED_EMPLOYEE("Retrieved employee record"),
 	
+	LOOKING_UP_EMPLOYEES("Looking up %d employee ids"),
+	LOOKED_UP_EMPLOYEES("Found %d of %d employees"),
+	
+	SUGGESTING_EMPLOYEES("Suggesting employees"),
+	SUGGESTED_EMPLOYEES("Suggested %d employees"),
+	SUGGEST_INDEX_LOADED("Suggest index loaded %d employees in %d ms"),
+	
+	INGESTING_EMPLOYEES("Queueing %d employees for ingestion"),
+	INGEST_ACCEPTED("Accepted %d of %d employees for ingestion"),
+	INGEST_FLUSHED("Ingested %d employees, %d created, %d coalesced"),
+	INGEST_BATCH_FAILED("Ingest batch failed, retrying items one by one: %s"),
+	INGEST_QUEUE_FULL("Ingest queue is full, retry after %d seconds"),
+	INGEST_STATUS("Ingest ticket %s is %s"),
+	INGEST_TICKET_NOT_FOUND("Ingest ticket not found"),
+	INGEST_EMAIL_REQUIRED("email: Email is required for ingestion"),
+	INGEST_DRAIN_INCOMPLETE("Ingest queue still held %d employees after the drain timeout"),
+	INGEST_INTERRUPTED("Ingestion was interrupted before this employee was written"),
+	INGEST_FLUSHER_INTERRUPTED("Ingest flusher was interrupted, failed %d employees it had not written"),
+	
+	IMPORTING_EMPLOYEES("Importing employees from %s"),
+	IMPORT_ACCEPTED("Import job %s accepted"),
+	IMPORT_STATUS("Import job %s is %s"),
+	IMPORT_CANCELLING("Cancelling import job %s"),
+	IMPORT_FINISHED("Import job %s %s, %d imported, %d failed in %d ms"),
+	IMPORT_CHUNK_FAILED("Import chunk failed, retrying rows one by one: %s"),
+	IMPORT_FILE_NOT_DELETED("Import file %s could not be deleted: %s"),
+	IMPORT_JOB_NOT_FOUND("Import job not found"),
+	IMPORT_FILE_REQUIRED("A non-empty CSV file part named file is required"),
+	IMPORT_HEADER_INVALID("CSV header must name the columns name, department and email"),
+	IMPORT_COLUMN_COUNT("expected %d columns, found %d"),
+	IMPORT_ROW_UNREADABLE("CSV could not be read past this row: %s"),
+	
+	STREAM_SUBSCRIBED("Change feed subscriber joined after event %s"),
+	STREAM_SUBSCRIBER_DISCONNECTED("Change feed subscriber disconnected: %s"),
+	
+	SYNCING_EMPLOYEES("Retrieving employee changes"),
+	SYNCED_EMPLOYEES("Retrieved %d changed and %d deleted employees"),
+	TOMBSTONES_PURGED("Purged %d employee tombstones older than %s"),
+	TOMBSTONE_PURGE_FAILED("Employee tombstone purge failed: %s"),
+	
+	EXPORTING_EMPLOYEES("Exporting employee records"),
+	EXPORTED_EMPLOYEES("Exported %d employee records"),
+	
 	UPDATING_EMPLOYEE("Updating employee record"),
 	UPDATED_EMPLOYEE("Updated employee record"),
 	
+	PATCHING_EMPLOYEE("Patching employee record"),
+	PATCHED_EMPLOYEE("Patched employee record"),
+	
 	DELETING_EMPLOYEE("Deleting employee record"),
 	DELETED_EMPLOYEE("Employee deleted from the database"),
+	DELETING_EMPLOYEES("Deleting employee records"),
+	DELETED_EMPLOYEES("Deleted %d employee records"),
 	
+	SERVICE_OVERLOADED("Service is overloaded, retry after %d seconds"),
 	EMPLOYEE_NOT_FOUND("Employee not found"),
 	EMPLOYEE_CANNOT_BE_NULL("Employee cannot be null"),
+	EMPLOYEE_VERSION_CONFLICT("Employee was modified by another request"),
+	IF_MATCH_REQUIRED("If-Match header with the employee version is required"),
+	EMPLOYEE_PATCH_EMPTY("At least one field must be supplied"),
+	EMPLOYEE_EMAIL_TAKEN("Employee email is already in use"),
+	EMPLOYEE_EMAIL_REPEATED("Email is already used by item %d of this batch"),
+	IDEMPOTENCY_KEY_REUSED("Idempotency-Key was already used for a different request"),
+	IDEMPOTENCY_KEY_IN_PROGRESS("A request with this Idempotency-Key is still in progress"),
+	IDEMPOTENCY_KEY_INVALID("Idempotency-Key must be 1 to %d characters"),
+	REPLAYING_RESPONSE("Replaying stored response for Idempotency-Key %s"),
+	SUGGEST_QUERY_REQUIRED("Query parameter q is required"),
+	SEARCH_FILTER_REQUIRED("Exactly one of department, email or namePrefix is required"),
+	DELETE_FILTER_REQUIRED("Exactly one of ids or department is required"),
+	EMPLOYEE_BATCH_EMPTY("Employee list cannot be empty"),
+	EMPLOYEE_BATCH_TOO_LARGE("Employee list cannot contain more than %d entries"),
+	LOOKUP_IDS_REQUIRED("Employee id list cannot be empty or contain null"),
+	LOOKUP_TOO_MANY_IDS("Employee id list cannot contain more than %d entries"),
+	INVALID_CURSOR("Invalid page cursor"),
+	INVALID_SYNC_TOKEN("Invalid sync token"),
+	SYNC_TOKEN_EXPIRED("Sync token has expired, start a full sync without since"),
+	INVALID_PAGE_SIZE("Page size must be greater than zero"),
+	CHANGE_OUTSIDE_TRANSACTION("Employee changes can only be numbered inside a transaction"),
 	EXCEPTION_OCCURRED_WHILE_CREATING_EMPLOYEE("Exception occured while creating an employee"),
+	EXCEPTION_OCCURRED_WHILE_CREATING_EMPLOYEES("Exception occured while creating employees"),
 	EXCEPTION_OCCURRED_WHILE_RETRIEVING_EMPLOYEES("Exception occured while retrieving employees"),
 	EXCEPTION_OCCURRED_WHILE_RETRIEVING_EMPLOYEE("Exception occured while retrieving employee"),
+	EXCEPTION_OCCURRED_WHILE_LOOKING_UP_EMPLOYEES("Exception occured while looking up employees"),
+	EXCEPTION_OCCURRED_WHILE_SUGGESTING_EMPLOYEES("Exception occured while suggesting employees"),
+	EXCEPTION_OCCURRED_WHILE_INGESTING_EMPLOYEES("Exception occured while ingesting employees"),
+	EXCEPTION_OCCURRED_WHILE_SYNCING_EMPLOYEES("Exception occured while retrieving employee changes"),
+	EXCEPTION_OCCURRED_WHILE_IMPORTING_EMPLOYEES("Exception occured while importing employees"),
+	EXCEPTION_OCCURRED_WHILE_EXPORTING_EMPLOYEES("Exception occured while exporting employees"),
 	EXCEPTION_OCCURRED_WHILE_UPDATING_EMPLOYEE("Exception occured while updating employee"),
 	EXCEPTION_OCCURRED_WHILE_DELETING_EMPLOYEE("Exception occured while deleting employee"),
+	EXCEPTION_OCCURRED_WHILE_DELETING_EMPLOYEES("Exception occured while deleting employees"),
 	
 	VALIDATION_FAILED("Validation failed"),
 	EXCEPTION_OCCURED("Exception Ocurred. Reason : ");
 	
 	private final String log;
 	
+	// SLF4J form of the description so loggers only format when the level is enabled
+	private final String pattern;
+	
 	private LogDescription(String log) {
 		this.log = log;
+		this.pattern = log.replaceAll("%[ds]", "{}");
 	}
 	
 	public String getLog() {
 		return log;
 	}
 	
+	public String getPattern() {
+		return pattern;
+	}
+	
 	
 
 }
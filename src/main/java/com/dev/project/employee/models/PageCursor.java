@@ -0,0 +1,59 @@
+package com.dev.project.employee.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Opaque keyset cursor. Clients only echo the token back, the id inside is an
+ * implementation detail.
+ */
+public final class PageCursor {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private PageCursor() {
+	}
+
+	public static String encode(Long lastId) {
+		return ENCODER.encodeToString(Long.toString(lastId).getBytes(StandardCharsets.UTF_8));
+	}
+
+	// Name searches page on (name, id), the id comes first so the name may contain any character
+	public static String encode(String lastName, Long lastId) {
+		return ENCODER.encodeToString((lastId + ":" + lastName).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static Long decode(String cursor) {
+		if (cursor == null || cursor.isBlank())
+			return 0L;
+		try {
+			return Long.parseLong(new String(DECODER.decode(cursor), StandardCharsets.UTF_8));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(LogDescription.INVALID_CURSOR.getLog());
+		}
+	}
+
+	public static NamePosition decodeNamePosition(String cursor) {
+		if (cursor == null || cursor.isBlank())
+			return new NamePosition("", 0L);
+		try {
+			String value = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+			int separator = value.indexOf(':');
+			return new NamePosition(value.substring(separator + 1), Long.parseLong(value.substring(0, separator)));
+		} catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+			throw new IllegalArgumentException(LogDescription.INVALID_CURSOR.getLog());
+		}
+	}
+
+	@Getter
+	@AllArgsConstructor
+	public static class NamePosition {
+
+		private final String name;
+		private final Long id;
+	}
+}
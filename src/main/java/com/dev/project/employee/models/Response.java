@@ -1,5 +1,7 @@
 package com.dev.project.employee.models;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -17,4 +19,8 @@ public class Response<T> {
 	private String message;
 	private T data;
 
+	// Opaque token for the next page, only present on paginated responses
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String nextCursor;
+
 }
@@ -0,0 +1,47 @@
+package com.dev.project.employee.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Opaque delta sync token, the (change_seq, id) position a client has synced
+ * up to and the time of the request that last caught it up. Tombstones are
+ * only kept for the retention window after that time, so an older token can
+ * no longer be answered with deletes alone.
+ */
+@Getter
+@AllArgsConstructor
+public final class SyncToken {
+
+	private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+	private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+	private final long changeSeq;
+	private final long id;
+
+	// Epoch millis
+	private final long issuedAt;
+
+	// A full sync starts before the first change and has nothing to delete on the client yet
+	public static SyncToken start(long issuedAt) {
+		return new SyncToken(0L, 0L, issuedAt);
+	}
+
+	public String encode() {
+		return ENCODER.encodeToString((changeSeq + ":" + id + ":" + issuedAt).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static SyncToken decode(String token) {
+		try {
+			String[] parts = new String(DECODER.decode(token), StandardCharsets.UTF_8).split(":");
+			if (parts.length != 3)
+				throw new IllegalArgumentException(LogDescription.INVALID_SYNC_TOKEN.getLog());
+			return new SyncToken(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException(LogDescription.INVALID_SYNC_TOKEN.getLog());
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package com.dev.project.employee.models;
+
+/**
+ * Strong entity tag carrying an employee version, e.g. {@code "3"}.
+ */
+public final class VersionTag {
+
+	private VersionTag() {
+	}
+
+	public static String format(Long version) {
+		return "\"" + version + "\"";
+	}
+
+	// Weak comparison as RFC 9110 prescribes for If-None-Match, so W/"3" also matches "3"
+	public static boolean matches(String ifNoneMatch, String tag) {
+		if (ifNoneMatch == null || tag == null)
+			return false;
+		for (String candidate : ifNoneMatch.split(",")) {
+			String value = candidate.trim();
+			if (value.equals("*"))
+				return true;
+			if (value.startsWith("W/"))
+				value = value.substring(2);
+			if (value.equals(tag))
+				return true;
+		}
+		return false;
+	}
+
+	// Returns null when the header is not a tag this service issued
+	public static Long parse(String header) {
+		if (header == null)
+			return null;
+		String tag = header.trim();
+		if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"')
+			return null;
+		try {
+			return Long.parseLong(tag.substring(1, tag.length() - 1));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,18 @@
+package com.dev.project.employee.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import com.dev.project.employee.models.EmployeeChangeCounter;
+
+public interface EmployeeChangeCounterRepository extends JpaRepository<EmployeeChangeCounter, Integer> {
+
+	// Locks the row until the transaction ends, so writers take their numbers one commit at a time
+	@Modifying
+	@Query("update EmployeeChangeCounter c set c.lastSeq = c.lastSeq + 1 where c.id = 1")
+	int increment();
+
+	@Query("select c.lastSeq from EmployeeChangeCounter c where c.id = 1")
+	long findLastSeq();
+}
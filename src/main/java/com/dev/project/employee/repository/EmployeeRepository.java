@@ -1,8 +1,79 @@
 package com.dev.project.employee.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeSummary;
+
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+	// Keyset page: seeks on the primary key index, cost is O(limit) regardless of depth
+	List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	// Filtered keyset pages, each backed by an index declared on Employee and projected to EmployeeSummary
+	List<EmployeeSummary> findByDepartmentAndIdGreaterThanOrderByIdAsc(String department, Long id, Limit limit);
+
+	List<EmployeeSummary> findByEmailAndIdGreaterThanOrderByIdAsc(String email, Long id, Limit limit);
+
+	// Prefix pages follow the (name, id) index order, ordering by id alone would walk the primary key instead
+	@Query("""
+			select new com.dev.project.employee.models.EmployeeSummary(e.id, e.name, e.department, e.email)
+			from Employee e
+			where e.name like :#{escape(#namePrefix)}% escape :#{escapeCharacter()}
+			  and (e.name > :name or (e.name = :name and e.id > :id))
+			order by e.name, e.id""")
+	List<EmployeeSummary> findByNamePrefixAfter(@Param("namePrefix") String namePrefix, @Param("name") String name,
+			@Param("id") Long id, Limit limit);
+
+	// Upsert lookup for ingestion, served by the unique email index
+	List<Employee> findByEmailIn(Collection<String> emails);
+
+	// Conditional GET support: reads the version column only, never the full row
+	@Query("select e.version from Employee e where e.id = :id")
+	Optional<Long> findVersionById(@Param("id") Long id);
+
+	// Single UPDATE guarded by the version, null arguments keep the current column value
+	@Modifying
+	@Query("""
+			update Employee e
+			set e.name = coalesce(:name, e.name),
+			    e.department = coalesce(:department, e.department),
+			    e.email = coalesce(:email, e.email),
+			    e.version = e.version + 1,
+			    e.changeSeq = :changeSeq
+			where e.id = :id and e.version = :version""")
+	int patch(@Param("id") Long id, @Param("version") Long version, @Param("name") String name,
+			@Param("department") String department, @Param("email") String email, @Param("changeSeq") Long changeSeq);
+
+	// Set-based deletes: one statement, no entity loading, affected row count returned
+	@Modifying
+	@Query("delete from Employee e where e.id = :id")
+	int deleteRowById(@Param("id") Long id);
+
+	// Bulk deletes write their tombstones first, then remove exactly those rows, a row added in between is kept
+	@Modifying
+	@Query("""
+			delete from Employee e
+			where e.id in (select t.employeeId from EmployeeTombstone t where t.changeSeq = :changeSeq)""")
+	int deleteRowsTombstonedAt(@Param("changeSeq") Long changeSeq);
+
+	// Delta sync page on the (change_seq, id) index, O(limit) however large the table is
+	@Query("""
+			select e from Employee e
+			where (e.changeSeq > :seq or (e.changeSeq = :seq and e.id > :id)) and e.changeSeq <= :upTo
+			order by e.changeSeq, e.id""")
+	List<Employee> findChangedAfter(@Param("seq") Long seq, @Param("id") Long id, @Param("upTo") Long upTo, Limit limit);
 
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+	// Swaps a transaction's provisional change_seq for its number as it commits, the version is left alone
+	@Modifying
+	@Query("update Employee e set e.changeSeq = :changeSeq where e.changeSeq = :pending")
+	int stampChangeSeq(@Param("pending") Long pending, @Param("changeSeq") Long changeSeq);
 }
@@ -0,0 +1,18 @@
+package com.dev.project.employee.repository;
+
+import java.util.stream.Stream;
+
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeSummary;
+
+public interface EmployeeRepositoryCustom {
+
+	// Cursor-backed stream over every employee in id order, must be consumed inside a transaction
+	Stream<Employee> streamAll(int fetchSize);
+
+	// Same cursor as streamAll but projected, nothing is added to the persistence context
+	Stream<EmployeeSummary> streamSummaries(int fetchSize);
+
+	// Detaches every managed entity so long-running reads do not accumulate in the session
+	void clearPersistenceContext();
+}
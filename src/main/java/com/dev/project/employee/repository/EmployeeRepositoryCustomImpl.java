@@ -0,0 +1,39 @@
+package com.dev.project.employee.repository;
+
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeSummary;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Stream<Employee> streamAll(int fetchSize) {
+		return entityManager.createQuery("select e from Employee e order by e.id", Employee.class)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+				.setHint(HibernateHints.HINT_READ_ONLY, true)
+				.getResultStream();
+	}
+
+	@Override
+	public Stream<EmployeeSummary> streamSummaries(int fetchSize) {
+		return entityManager.createQuery("""
+				select new com.dev.project.employee.models.EmployeeSummary(e.id, e.name, e.department, e.email)
+				from Employee e order by e.id""", EmployeeSummary.class)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+				.getResultStream();
+	}
+
+	@Override
+	public void clearPersistenceContext() {
+		entityManager.clear();
+	}
+}
@@ -0,0 +1,51 @@
+package com.dev.project.employee.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.dev.project.employee.models.EmployeeTombstone;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+	// Deletes for a delta sync page, same (change_seq, id) keyset as EmployeeRepository#findChangedAfter
+	@Query("""
+			select t from EmployeeTombstone t
+			where (t.changeSeq > :seq or (t.changeSeq = :seq and t.employeeId > :id)) and t.changeSeq <= :upTo
+			order by t.changeSeq, t.employeeId""")
+	List<EmployeeTombstone> findDeletedAfter(@Param("seq") Long seq, @Param("id") Long id, @Param("upTo") Long upTo,
+			Limit limit);
+
+	// Insert-select, one statement for the tombstones of every row a bulk delete is about to remove
+	@Modifying
+	@Query("""
+			insert into EmployeeTombstone (employeeId, changeSeq, deletedAt)
+			select e.id, :changeSeq, :deletedAt from Employee e where e.id in :ids""")
+	int recordByIdIn(@Param("ids") Collection<Long> ids, @Param("changeSeq") Long changeSeq,
+			@Param("deletedAt") Instant deletedAt);
+
+	// The ids a bulk delete by id really removed, its change number is still the transaction's own pending one
+	@Query("select t.employeeId from EmployeeTombstone t where t.changeSeq = :changeSeq")
+	List<Long> findEmployeeIdsByChangeSeq(@Param("changeSeq") Long changeSeq);
+
+	@Modifying
+	@Query("""
+			insert into EmployeeTombstone (employeeId, changeSeq, deletedAt)
+			select e.id, :changeSeq, :deletedAt from Employee e where e.department = :department""")
+	int recordByDepartment(@Param("department") String department, @Param("changeSeq") Long changeSeq,
+			@Param("deletedAt") Instant deletedAt);
+
+	@Modifying
+	@Query("delete from EmployeeTombstone t where t.deletedAt < :cutoff")
+	int purgeDeletedBefore(@Param("cutoff") Instant cutoff);
+
+	@Modifying
+	@Query("update EmployeeTombstone t set t.changeSeq = :changeSeq where t.changeSeq = :pending")
+	int stampChangeSeq(@Param("pending") Long pending, @Param("changeSeq") Long changeSeq);
+}
@@ -0,0 +1,129 @@
+package com.dev.project.employee.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Component;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.Employee;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+/**
+ * Bounded read-through cache of employees by id. When disabled every call goes
+ * straight to the loader.
+ */
+@Component
+public class EmployeeCache {
+
+	private final AsyncCache<Long, Employee> cache;
+
+	public EmployeeCache(EmployeeProperties properties) {
+		EmployeeProperties.Cache config = properties.getCache();
+		this.cache = config.isEnabled()
+				? Caffeine.newBuilder()
+						.maximumSize(config.getMaximumSize())
+						.expireAfterWrite(config.getTimeToLive())
+						.recordStats()
+						.buildAsync()
+				: null;
+	}
+
+	public boolean isEnabled() {
+		return cache != null;
+	}
+
+	// Exceptions thrown by the loader propagate to the caller and nothing is cached
+	public Employee get(Long id, Function<Long, Employee> loader) {
+		if (cache == null)
+			return loader.apply(id);
+
+		// Only the placeholder future is installed under the map lock, the database load runs
+		// outside it so a virtual thread is never pinned while waiting on JDBC
+		Load placeholder = new Load();
+		CompletableFuture<Employee> entry = cache.get(id, (key, executor) -> placeholder);
+		if (entry == placeholder) {
+			Employee employee;
+			try {
+				employee = loader.apply(id);
+			} catch (RuntimeException | Error e) {
+				placeholder.fail(e);
+				throw e;
+			}
+			placeholder.complete(employee);
+			return employee;
+		}
+		return await(entry);
+	}
+
+	// Completed entry for the id, or null. Never loads and never waits on an in-flight load
+	public Employee peek(Long id) {
+		if (cache == null)
+			return null;
+		CompletableFuture<Employee> entry = cache.getIfPresent(id);
+		return entry != null && entry.isDone() && !entry.isCompletedExceptionally() ? entry.join() : null;
+	}
+
+	// Replacing an in-flight entry orphans it, so a load that read the old row can never be published
+	public void put(Employee employee) {
+		if (cache != null && employee != null && employee.getId() != null)
+			cache.put(employee.getId(), CompletableFuture.completedFuture(employee));
+	}
+
+	public void invalidate(Long id) {
+		if (cache != null)
+			cache.synchronous().invalidate(id);
+	}
+
+	public void invalidateAll() {
+		if (cache != null)
+			cache.synchronous().invalidateAll();
+	}
+
+	public CacheStats stats() {
+		return cache != null ? cache.synchronous().stats() : CacheStats.empty();
+	}
+
+	private Employee await(CompletableFuture<Employee> future) {
+		Employee employee;
+		try {
+			employee = future.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			if (e.getCause() instanceof Error cause)
+				throw cause;
+			throw e;
+		}
+		if (employee == null && future instanceof Load load)
+			load.rethrow();
+		return employee;
+	}
+
+	/**
+	 * In-flight load. A failed load completes with null rather than exceptionally:
+	 * Caffeine then drops the entry without logging a WARNING with the stack trace
+	 * for every miss, and joining never wraps the failure in a CompletionException.
+	 * Coalesced callers rethrow the loader's own exception.
+	 */
+	private static final class Load extends CompletableFuture<Employee> {
+
+		// Written before complete(null), which publishes it to every joiner
+		private Throwable failure;
+
+		void fail(Throwable failure) {
+			this.failure = failure;
+			complete(null);
+		}
+
+		void rethrow() {
+			if (failure instanceof RuntimeException e)
+				throw e;
+			if (failure instanceof Error e)
+				throw e;
+		}
+	}
+}
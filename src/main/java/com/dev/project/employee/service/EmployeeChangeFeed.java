@@ -0,0 +1,340 @@
+package com.dev.project.employee.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.EmployeeEvent;
+import com.dev.project.employee.models.LogDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-Sent Events change feed. Committed changes are appended to a ring
+ * buffer of the last bufferSize events, writers never wait for subscribers.
+ * Each subscriber keeps its own cursor into the ring and is caught up by one
+ * sender thread at a time. A subscriber that falls further behind than the
+ * ring, or resumes from an id the ring no longer holds, gets a resync event
+ * and continues from the oldest event still held.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeFeed implements SmartLifecycle {
+
+	public static final String EVENTS = "employee.stream.events";
+	public static final String RESYNC = "resync";
+
+	// Events copied out of the ring per lock acquisition while a subscriber catches up
+	private static final int READ_BATCH = 256;
+
+	private final EmployeeProperties.Stream config;
+	private final ObjectMapper mapper;
+
+	// Event ids are "epoch-sequence", an id from before a restart never matches this instance's sequence
+	private final String epoch = Long.toHexString(System.currentTimeMillis());
+
+	// Slot of sequence n is n % length, guarded by the array's monitor
+	private final Slot[] ring;
+	private volatile long head;
+
+	private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+	private final ExecutorService senders;
+	private final ScheduledExecutorService heartbeats;
+
+	private final Counter published;
+	private final Counter delivered;
+	private final Counter dropped;
+
+	private volatile boolean running;
+
+	public EmployeeChangeFeed(EmployeeProperties properties, ObjectMapper mapper, MeterRegistry registry) {
+		this.config = properties.getStream();
+		this.mapper = mapper;
+		this.ring = new Slot[config.getBufferSize()];
+		this.senders = Executors.newFixedThreadPool(config.getSenderThreads(), daemonThreads("employee-stream-"));
+		this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("employee-stream-heartbeat-"));
+
+		Gauge.builder("employee.stream.subscribers", subscribers, Set::size)
+				.description("Open change feed connections")
+				.register(registry);
+		Gauge.builder("employee.stream.lag", this, EmployeeChangeFeed::maxLag)
+				.description("Events the furthest behind subscriber has yet to receive")
+				.register(registry);
+		this.published = events(registry, "published");
+		this.delivered = events(registry, "delivered");
+		this.dropped = events(registry, "dropped");
+	}
+
+	/**
+	 * Publishes once the surrounding transaction commits, so subscribers never
+	 * see a change that is rolled back. Without a transaction it publishes now.
+	 */
+	public void publish(EmployeeEvent event) {
+		publishAll(List.of(event));
+	}
+
+	public void publishAll(List<EmployeeEvent> events) {
+		if (events.isEmpty())
+			return;
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					append(events);
+				}
+			});
+		} else {
+			append(events);
+		}
+	}
+
+	private void append(List<EmployeeEvent> events) {
+		synchronized (ring) {
+			long sequence = head;
+			for (EmployeeEvent event : events) {
+				sequence++;
+				ring[slot(sequence)] = new Slot(sequence, event);
+			}
+			head = sequence;
+		}
+		published.increment(events.size());
+		subscribers.forEach(this::schedule);
+	}
+
+	public SseEmitter subscribe(String lastEventId) {
+		SseEmitter emitter = new SseEmitter(config.getTimeout().toMillis());
+		subscribe(lastEventId, emitter);
+		return emitter;
+	}
+
+	void subscribe(String lastEventId, SseEmitter emitter) {
+		long current = head;
+		Subscriber subscriber = new Subscriber(emitter);
+		if (lastEventId == null) {
+			subscriber.cursor = current;
+		} else {
+			long resumeAfter = parse(lastEventId);
+			// An id from another instance or from before a restart, the client's position is unknown
+			subscriber.resync = resumeAfter < 0 || resumeAfter > current;
+			subscriber.cursor = subscriber.resync ? current : resumeAfter;
+		}
+
+		emitter.onCompletion(() -> subscribers.remove(subscriber));
+		emitter.onTimeout(() -> subscribers.remove(subscriber));
+		emitter.onError(e -> subscribers.remove(subscriber));
+		subscribers.add(subscriber);
+		log.debug(LogDescription.STREAM_SUBSCRIBED.getPattern(), subscriber.cursor);
+		// Sends the backlog since Last-Event-ID right away instead of at the next write
+		schedule(subscriber);
+	}
+
+	private long parse(String lastEventId) {
+		int dash = lastEventId.indexOf('-');
+		if (dash < 0 || !lastEventId.substring(0, dash).equals(epoch))
+			return -1;
+		try {
+			return Long.parseLong(lastEventId.substring(dash + 1));
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	private void schedule(Subscriber subscriber) {
+		if (!subscriber.scheduled.compareAndSet(false, true))
+			return;
+		try {
+			senders.execute(() -> drain(subscriber));
+		} catch (RejectedExecutionException e) {
+			// Shutting down, stop() completes every emitter
+			subscriber.scheduled.set(false);
+		}
+	}
+
+	private void drain(Subscriber subscriber) {
+		try {
+			do {
+				deliver(subscriber);
+				subscriber.scheduled.set(false);
+				// A write or heartbeat that arrived after the last read found the flag still set, pick it up here
+			} while ((subscriber.cursor < head || subscriber.heartbeatDue)
+					&& subscriber.scheduled.compareAndSet(false, true));
+		} catch (IOException | IllegalStateException e) {
+			// Client went away or the emitter timed out, the scheduled flag stays set so it is never served again
+			subscribers.remove(subscriber);
+			log.debug(LogDescription.STREAM_SUBSCRIBER_DISCONNECTED.getPattern(), e.getMessage());
+		}
+	}
+
+	private void deliver(Subscriber subscriber) throws IOException {
+		SseEmitter emitter = subscriber.emitter;
+		if (subscriber.resync) {
+			subscriber.resync = false;
+			emitter.send(SseEmitter.event().name(RESYNC).id(id(subscriber.cursor)).data("{}", MediaType.APPLICATION_JSON));
+		}
+
+		List<Slot> batch = new ArrayList<>(READ_BATCH);
+		while (true) {
+			long missed = read(subscriber.cursor, batch);
+			if (missed > 0) {
+				dropped.increment(missed);
+				subscriber.cursor += missed;
+				emitter.send(SseEmitter.event().name(RESYNC).id(id(subscriber.cursor))
+						.data("{\"missed\":" + missed + "}", MediaType.APPLICATION_JSON));
+			}
+			if (batch.isEmpty())
+				break;
+			for (Slot slot : batch) {
+				emitter.send(SseEmitter.event().id(id(slot.sequence)).name(slot.name).data(slot.json(mapper), MediaType.APPLICATION_JSON));
+				subscriber.cursor = slot.sequence;
+			}
+			delivered.increment(batch.size());
+			batch.clear();
+		}
+
+		if (subscriber.heartbeatDue) {
+			subscriber.heartbeatDue = false;
+			emitter.send(SseEmitter.event().comment("heartbeat"));
+		}
+	}
+
+	// Copies the events after the cursor into the batch, returns how many were overwritten before being read
+	private long read(long cursor, List<Slot> batch) {
+		synchronized (ring) {
+			long oldest = Math.max(1, head - ring.length + 1);
+			long from = Math.max(cursor + 1, oldest);
+			for (long sequence = from; sequence <= head && batch.size() < READ_BATCH; sequence++)
+				batch.add(ring[slot(sequence)]);
+			return from - (cursor + 1);
+		}
+	}
+
+	private void heartbeat() {
+		for (Subscriber subscriber : subscribers) {
+			subscriber.heartbeatDue = true;
+			schedule(subscriber);
+		}
+	}
+
+	private double maxLag() {
+		long current = head;
+		long lag = 0;
+		for (Subscriber subscriber : subscribers)
+			lag = Math.max(lag, current - subscriber.cursor);
+		return lag;
+	}
+
+	private int slot(long sequence) {
+		return (int) (sequence % ring.length);
+	}
+
+	private String id(long sequence) {
+		return epoch + "-" + sequence;
+	}
+
+	@Override
+	public void start() {
+		long interval = config.getHeartbeatInterval().toMillis();
+		heartbeats.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+		running = true;
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		heartbeats.shutdownNow();
+		senders.shutdown();
+		// Clients reconnect to another instance and resume from their Last-Event-ID
+		for (Subscriber subscriber : subscribers) {
+			subscribers.remove(subscriber);
+			subscriber.emitter.complete();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	// Stops before the web server's graceful shutdown, which would otherwise wait on open streams until its timeout
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE;
+	}
+
+	int subscriberCount() {
+		return subscribers.size();
+	}
+
+	private static CustomizableThreadFactory daemonThreads(String prefix) {
+		CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+		factory.setDaemon(true);
+		return factory;
+	}
+
+	private static Counter events(MeterRegistry registry, String result) {
+		return Counter.builder(EVENTS)
+				.description("Change feed events, published once and delivered or dropped per subscriber")
+				.tag("result", result)
+				.register(registry);
+	}
+
+	private static final class Slot {
+
+		private final long sequence;
+		private final EmployeeEvent event;
+		private final String name;
+
+		// Serialized on first delivery and shared by every subscriber
+		private volatile String json;
+
+		private Slot(long sequence, EmployeeEvent event) {
+			this.sequence = sequence;
+			this.event = event;
+			this.name = event.getType().name().toLowerCase(Locale.ROOT);
+		}
+
+		String json(ObjectMapper mapper) throws IOException {
+			String serialized = json;
+			if (serialized == null)
+				json = serialized = mapper.writeValueAsString(event);
+			return serialized;
+		}
+	}
+
+	private static final class Subscriber {
+
+		private final SseEmitter emitter;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+
+		// Sequence of the last event sent, only written by the sender thread serving this subscriber
+		private volatile long cursor;
+		private volatile boolean resync;
+		private volatile boolean heartbeatDue;
+
+		private Subscriber(SseEmitter emitter) {
+			this.emitter = emitter;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.dev.project.employee.service;
+
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.repository.EmployeeChangeCounterRepository;
+import com.dev.project.employee.repository.EmployeeRepository;
+import com.dev.project.employee.repository.EmployeeTombstoneRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Numbers the changes delta sync pages through and purges expired tombstones.
+ * A writing transaction stamps its rows with a provisional key from pending()
+ * and swaps it for its number as it commits. The number comes from the
+ * employee_change_counter row, whose lock is held until that commit completes,
+ * so numbers become visible in order on every instance sharing the database.
+ * Everything at or below the committed counter is final, and that value is the
+ * watermark delta sync reads up to.
+ */
+@Slf4j
+@Component
+public class EmployeeChangeLog implements SmartLifecycle {
+
+	// Purge only what no token inside the retention window can still need, even with a long transaction in between
+	private static final long PURGE_GRACE_MILLIS = 3_600_000L;
+
+	private final EmployeeRepository repo;
+	private final EmployeeTombstoneRepository tombstones;
+	private final EmployeeChangeCounterRepository counter;
+	private final EmployeeProperties properties;
+	private final TransactionTemplate transaction;
+	private final ScheduledExecutorService purger;
+	private volatile boolean running;
+
+	public EmployeeChangeLog(EmployeeRepository repo, EmployeeTombstoneRepository tombstones,
+			EmployeeChangeCounterRepository counter, EmployeeProperties properties,
+			PlatformTransactionManager transactionManager) {
+		this.repo = repo;
+		this.tombstones = tombstones;
+		this.counter = counter;
+		this.properties = properties;
+		this.transaction = new TransactionTemplate(transactionManager);
+		CustomizableThreadFactory threads = new CustomizableThreadFactory("employee-tombstone-purge-");
+		threads.setDaemon(true);
+		this.purger = Executors.newSingleThreadScheduledExecutor(threads);
+	}
+
+	// Scheduled on start rather than at refresh, so a CDS training run that stops after refresh needs no database
+	@Override
+	public void start() {
+		long interval = properties.getSync().getPurgeInterval().toMillis();
+		purger.scheduleWithFixedDelay(this::purgeTombstones, interval, interval, TimeUnit.MILLISECONDS);
+		running = true;
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		purger.shutdownNow();
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	/**
+	 * Provisional change_seq for what the surrounding transaction writes. It is
+	 * negative, so no delta sync page returns it, and random, so each transaction
+	 * on any instance renumbers only its own rows. Rolled back, it takes no number.
+	 */
+	public long pending() {
+		if (!TransactionSynchronizationManager.isSynchronizationActive())
+			throw new IllegalStateException(LogDescription.CHANGE_OUTSIDE_TRANSACTION.getLog());
+		long pending = -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void beforeCommit(boolean readOnly) {
+				// Inserts still queued in the session have to reach the table before they can be renumbered
+				repo.flush();
+				counter.increment();
+				long changeSeq = counter.findLastSeq();
+				repo.stampChangeSeq(pending, changeSeq);
+				tombstones.stampChangeSeq(pending, changeSeq);
+			}
+		});
+		return pending;
+	}
+
+	// Read in the caller's transaction, before the rows it bounds
+	public long watermark() {
+		return counter.findLastSeq();
+	}
+
+	public long tombstoneRetentionMillis() {
+		return properties.getSync().getTombstoneRetention().toMillis();
+	}
+
+	void purgeTombstones() {
+		Instant cutoff = Instant.now().minusMillis(tombstoneRetentionMillis() + PURGE_GRACE_MILLIS);
+		try {
+			int purged = transaction.execute(status -> tombstones.purgeDeletedBefore(cutoff));
+			log.info(LogDescription.TOMBSTONES_PURGED.getPattern(), purged, cutoff);
+		} catch (RuntimeException e) {
+			// A failed run must not cancel the schedule, the next one purges what this one left
+			log.warn(LogDescription.TOMBSTONE_PURGE_FAILED.getPattern(), e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,429 @@
+package com.dev.project.employee.service;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.ImportJob;
+import com.dev.project.employee.models.ImportStatus;
+import com.dev.project.employee.models.LogDescription;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CSV bulk import. The upload is parsed as a stream from the multipart temp
+ * file, one chunk of rows at a time. Chunks are validated in parallel on a
+ * shared pool and written in file order by the job's own thread, one
+ * transaction per chunk through {@link EmployeeService#importAll}. At most a
+ * few chunks per validation thread are held at once, whatever the file size.
+ */
+@Slf4j
+@Component
+public class EmployeeImportJobs implements SmartLifecycle {
+
+	public static final String ROWS = "employee.import.rows";
+
+	private static final List<String> COLUMNS = List.of("name", "department", "email");
+
+	// Validated chunks waiting for the writer, per validation thread
+	private static final int CHUNKS_AHEAD = 2;
+
+	// Upper bound on waiting for cancelled jobs to finish their current chunk on shutdown
+	private static final long STOP_TIMEOUT_SECONDS = 30;
+
+	private final EmployeeService service;
+	private final Validator validator;
+	private final EmployeeProperties.CsvImport config;
+	private final CsvMapper csv = CsvMapper.builder().enable(CsvParser.Feature.WRAP_AS_ARRAY)
+			.enable(CsvParser.Feature.TRIM_SPACES).build();
+
+	// Queued and running jobs, never evicted while they still hold their file
+	private final Map<String, Job> active = new ConcurrentHashMap<>();
+
+	// Only finished jobs, so the size bound can never lose one that is still in progress
+	private final Cache<String, Job> jobs;
+	private final ExecutorService runners;
+	private final ExecutorService validators;
+
+	private final Counter importedRows;
+	private final Counter failedRows;
+
+	private volatile boolean running;
+
+	public EmployeeImportJobs(EmployeeService service, Validator validator, EmployeeProperties properties,
+			MeterRegistry registry) {
+		this.service = service;
+		this.validator = validator;
+		this.config = properties.getCsvImport();
+		this.jobs = Caffeine.newBuilder()
+				.maximumSize(config.getMaxJobs())
+				.expireAfterWrite(config.getJobTimeToLive())
+				.build();
+		this.runners = Executors.newFixedThreadPool(config.getMaxConcurrentJobs(), daemonThreads("employee-import-"));
+		this.validators = Executors.newFixedThreadPool(config.getValidationThreads(),
+				daemonThreads("employee-import-validate-"));
+		this.importedRows = rows(registry, "imported");
+		this.failedRows = rows(registry, "failed");
+	}
+
+	/**
+	 * Reads the header now, so a file that is not an employee CSV is refused
+	 * before a job exists, and queues the rows. The job owns the file from here
+	 * and deletes it when it ends.
+	 */
+	public ImportJob start(Path file) throws IOException {
+		CountingInputStream input = new CountingInputStream(Files.newInputStream(file));
+		MappingIterator<String[]> rows;
+		String[] header;
+		int[] columns;
+		try {
+			rows = csv.readerFor(String[].class).readValues(input);
+			header = rows.hasNextValue() ? rows.nextValue() : new String[0];
+			columns = columns(header);
+		} catch (IOException | RuntimeException e) {
+			input.close();
+			Files.deleteIfExists(file);
+			throw e;
+		}
+
+		Job job = new Job(UUID.randomUUID().toString(), file, Files.size(file), input, rows, columns, header.length);
+		active.put(job.id, job);
+		runners.execute(() -> run(job));
+		return job.snapshot();
+	}
+
+	public Optional<ImportJob> status(String id) {
+		return Optional.ofNullable(find(id)).map(Job::snapshot);
+	}
+
+	// The job stops at the next row, chunks already written stay written
+	public Optional<ImportJob> cancel(String id) {
+		Job job = find(id);
+		if (job == null)
+			return Optional.empty();
+		job.cancelled = true;
+		return Optional.of(job.snapshot());
+	}
+
+	// Active first, a finishing job is added to the cache before it leaves the active map
+	private Job find(String id) {
+		Job job = active.get(id);
+		return job != null ? job : jobs.getIfPresent(id);
+	}
+
+	// Position of name, department and email in each row
+	private static int[] columns(String[] header) {
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < header.length; i++)
+			positions.putIfAbsent(header[i].trim().toLowerCase(Locale.ROOT), i);
+		int[] columns = new int[COLUMNS.size()];
+		for (int i = 0; i < columns.length; i++) {
+			Integer position = positions.get(COLUMNS.get(i));
+			if (position == null)
+				throw new IllegalArgumentException(LogDescription.IMPORT_HEADER_INVALID.getLog());
+			columns[i] = position;
+		}
+		return columns;
+	}
+
+	private void run(Job job) {
+		long start = System.nanoTime();
+		Deque<Future<Chunk>> pending = new ArrayDeque<>();
+		int maxPending = config.getValidationThreads() * CHUNKS_AHEAD;
+		boolean failed = false;
+		try (MappingIterator<String[]> rows = job.rows; InputStream input = job.input) {
+			if (job.cancelled)
+				return;
+			job.status = ImportStatus.RUNNING;
+
+			List<String[]> chunk = new ArrayList<>(config.getChunkSize());
+			long firstRow = 1;
+			while (!job.cancelled && next(job, rows, chunk)) {
+				if (chunk.size() == config.getChunkSize()) {
+					pending.add(validate(job, chunk, firstRow));
+					firstRow += chunk.size();
+					chunk = new ArrayList<>(config.getChunkSize());
+				}
+				// Parsing waits for the writer here, so memory stays bounded however large the file is
+				if (pending.size() >= maxPending)
+					write(job, pending.poll().get());
+			}
+			if (!chunk.isEmpty() && !job.cancelled)
+				pending.add(validate(job, chunk, firstRow));
+			while (!pending.isEmpty() && !job.cancelled)
+				write(job, pending.poll().get());
+		} catch (InterruptedException e) {
+			job.cancelled = true;
+			Thread.currentThread().interrupt();
+		} catch (IOException | ExecutionException | RuntimeException e) {
+			Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+			job.error(job.rowsRead.get() + 1, LogDescription.IMPORT_ROW_UNREADABLE.getLog().formatted(cause.getMessage()));
+			failed = true;
+		} finally {
+			pending.forEach(future -> future.cancel(true));
+			delete(job.file);
+			// Set last, a caller polling for the end finds the file already gone
+			job.status = failed ? ImportStatus.FAILED : job.cancelled ? ImportStatus.CANCELLED : ImportStatus.COMPLETED;
+			// The time to live starts here, status stays readable for that long after the job ends
+			jobs.put(job.id, job);
+			active.remove(job.id);
+			log.info(LogDescription.IMPORT_FINISHED.getPattern(), job.id, job.status, job.imported.get(), job.failed.get(),
+					(System.nanoTime() - start) / 1_000_000);
+		}
+	}
+
+	// Reads one row into the chunk, a CSV syntax error ends the job since the parser cannot resynchronize
+	private static boolean next(Job job, MappingIterator<String[]> rows, List<String[]> chunk) throws IOException {
+		if (!rows.hasNextValue())
+			return false;
+		chunk.add(rows.nextValue());
+		job.rowsRead.incrementAndGet();
+		return true;
+	}
+
+	private Future<Chunk> validate(Job job, List<String[]> rows, long firstRow) {
+		return validators.submit(() -> {
+			Chunk chunk = new Chunk(rows.size());
+			for (int i = 0; i < rows.size(); i++) {
+				long row = firstRow + i;
+				String[] values = rows.get(i);
+				if (values.length != job.width) {
+					chunk.errors.add(row + ": " + LogDescription.IMPORT_COLUMN_COUNT.getLog().formatted(job.width, values.length));
+					continue;
+				}
+				Employee employee = Employee.builder()
+						.name(values[job.columns[0]])
+						.department(values[job.columns[1]])
+						.email(values[job.columns[2]])
+						.build();
+				List<String> errors = new ArrayList<>();
+				for (ConstraintViolation<Employee> violation : validator.validate(employee))
+					errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+				if (errors.isEmpty()) {
+					chunk.employees.add(employee);
+					chunk.rows.add(row);
+				} else {
+					Collections.sort(errors);
+					chunk.errors.add(row + ": " + String.join(", ", errors));
+				}
+			}
+			return chunk;
+		});
+	}
+
+	private void write(Job job, Chunk chunk) {
+		chunk.errors.forEach(job::error);
+		failedRows.increment(chunk.errors.size());
+		if (chunk.employees.isEmpty())
+			return;
+		try {
+			service.importAll(chunk.employees);
+			job.imported.addAndGet(chunk.employees.size());
+			importedRows.increment(chunk.employees.size());
+		} catch (RuntimeException e) {
+			// One bad row fails the whole transaction, retry singly so it only fails itself
+			log.warn(LogDescription.IMPORT_CHUNK_FAILED.getPattern(), e.getMessage());
+			for (int i = 0; i < chunk.employees.size() && !job.cancelled; i++)
+				writeOne(job, chunk.employees.get(i), chunk.rows.get(i));
+		}
+	}
+
+	private void writeOne(Job job, Employee employee, long row) {
+		try {
+			service.importAll(List.of(employee));
+			job.imported.incrementAndGet();
+			importedRows.increment();
+		} catch (RuntimeException e) {
+			job.error(row + ": " + (e instanceof DataIntegrityViolationException
+					? LogDescription.EMPLOYEE_EMAIL_TAKEN.getLog()
+					: NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+			failedRows.increment();
+		}
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn(LogDescription.IMPORT_FILE_NOT_DELETED.getPattern(), file, e.getMessage());
+		}
+	}
+
+	@Override
+	public void start() {
+		running = true;
+	}
+
+	// Cancels running jobs, each stops at its next row and keeps the chunks it already wrote
+	@Override
+	public void stop() {
+		running = false;
+		active.values().forEach(job -> job.cancelled = true);
+		runners.shutdown();
+		validators.shutdown();
+		try {
+			runners.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	// Stops after the web server, so no upload can arrive once jobs are being cancelled
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private static CustomizableThreadFactory daemonThreads(String prefix) {
+		CustomizableThreadFactory factory = new CustomizableThreadFactory(prefix);
+		factory.setDaemon(true);
+		return factory;
+	}
+
+	private static Counter rows(MeterRegistry registry, String result) {
+		return Counter.builder(ROWS)
+				.description("Rows read by CSV imports, by outcome")
+				.tag("result", result)
+				.register(registry);
+	}
+
+	private static final class Chunk {
+
+		private final List<Employee> employees;
+		private final List<Long> rows;
+		private final List<String> errors = new ArrayList<>();
+
+		private Chunk(int size) {
+			this.employees = new ArrayList<>(size);
+			this.rows = new ArrayList<>(size);
+		}
+	}
+
+	private final class Job {
+
+		private final String id;
+		private final Path file;
+		private final long size;
+		private final CountingInputStream input;
+		private final MappingIterator<String[]> rows;
+		private final int[] columns;
+
+		// Columns in the header, every row must have as many
+		private final int width;
+
+		private final AtomicLong rowsRead = new AtomicLong();
+		private final AtomicLong imported = new AtomicLong();
+		private final AtomicLong failed = new AtomicLong();
+		private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+		private volatile ImportStatus status = ImportStatus.QUEUED;
+		private volatile boolean cancelled;
+
+		private Job(String id, Path file, long size, CountingInputStream input, MappingIterator<String[]> rows,
+				int[] columns, int width) {
+			this.id = id;
+			this.file = file;
+			this.size = size;
+			this.input = input;
+			this.rows = rows;
+			this.columns = columns;
+			this.width = width;
+		}
+
+		void error(long row, String message) {
+			error(row + ": " + message);
+		}
+
+		void error(String error) {
+			failed.incrementAndGet();
+			if (errors.size() < config.getMaxErrors())
+				errors.add(error);
+		}
+
+		ImportJob snapshot() {
+			List<String> copy;
+			synchronized (errors) {
+				copy = new ArrayList<>(errors);
+			}
+			ImportStatus current = status;
+			// The parser reads ahead of the rows it has handed out, 100 is kept for a completed job
+			int progress = current == ImportStatus.COMPLETED ? 100 : size == 0 ? 0 : (int) Math.min(99, input.count * 100 / size);
+			return ImportJob.builder()
+					.id(id)
+					.status(current)
+					.progress(progress)
+					.rowsRead(rowsRead.get())
+					.imported(imported.get())
+					.failed(failed.get())
+					.errors(copy)
+					.build();
+		}
+	}
+
+	// Bytes handed to the parser, only ever advanced by the job's thread
+	private static final class CountingInputStream extends FilterInputStream {
+
+		private volatile long count;
+
+		private CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0)
+				count++;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			int read = super.read(buffer, offset, length);
+			if (read > 0)
+				count += read;
+			return read;
+		}
+	}
+}
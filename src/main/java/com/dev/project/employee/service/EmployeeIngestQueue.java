@@ -0,0 +1,322 @@
+package com.dev.project.employee.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Component;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeIngestRejectedException;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.IngestStatus;
+import com.dev.project.employee.models.IngestTicket;
+import com.dev.project.employee.models.LogDescription;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Write-behind ingestion. Submissions are validated, appended to a bounded
+ * queue and acknowledged with a ticket. A single flusher thread collects up to
+ * one flush interval of items, keeps only the last item per email and writes
+ * the batch through {@link EmployeeService#upsertAll}. On shutdown the queue is
+ * drained before the database goes away.
+ */
+@Slf4j
+@Component
+public class EmployeeIngestQueue implements SmartLifecycle {
+
+	public static final String ITEMS = "employee.ingest.items";
+
+	private final EmployeeService service;
+	private final Validator validator;
+	private final EmployeeProperties.Ingest config;
+
+	private final BlockingQueue<Item> queue;
+
+	// Free slots in the queue, taken for a whole submission at once so it is never half accepted
+	private final Semaphore capacity;
+
+	// Never evicted, every pending ticket has an item in the queue, so the queue capacity bounds them
+	private final Map<String, Ticket> pending = new ConcurrentHashMap<>();
+
+	// Only completed tickets, so the size bound can never lose one that is still in progress
+	private final Cache<String, Ticket> tickets;
+
+	private final Counter processedItems;
+	private final Counter coalescedItems;
+	private final Counter failedItems;
+
+	private volatile boolean accepting;
+	private volatile boolean running;
+	private Thread flusher;
+
+	public EmployeeIngestQueue(EmployeeService service, Validator validator, EmployeeProperties properties,
+			MeterRegistry registry) {
+		this.service = service;
+		this.validator = validator;
+		this.config = properties.getIngest();
+		this.queue = new ArrayBlockingQueue<>(config.getQueueCapacity());
+		this.capacity = new Semaphore(config.getQueueCapacity());
+		this.tickets = Caffeine.newBuilder()
+				.maximumSize(config.getMaxTickets())
+				.expireAfterWrite(config.getTicketTimeToLive())
+				.build();
+
+		Gauge.builder("employee.ingest.queue.size", queue, BlockingQueue::size)
+				.description("Employees waiting to be written")
+				.register(registry);
+		this.processedItems = items(registry, "processed");
+		this.coalescedItems = items(registry, "coalesced");
+		this.failedItems = items(registry, "failed");
+	}
+
+	public IngestTicket submit(List<Employee> employees) {
+		if (employees == null || employees.isEmpty())
+			throw new IllegalArgumentException(LogDescription.EMPLOYEE_BATCH_EMPTY.getLog());
+		if (employees.size() > config.getQueueCapacity())
+			throw new IllegalArgumentException(LogDescription.EMPLOYEE_BATCH_TOO_LARGE.getLog().formatted(config.getQueueCapacity()));
+
+		Ticket ticket = new Ticket(UUID.randomUUID().toString(), employees.size());
+		List<Item> valid = new ArrayList<>(employees.size());
+		for (int i = 0; i < employees.size(); i++) {
+			List<String> errors = validate(employees.get(i));
+			if (errors.isEmpty())
+				valid.add(new Item(i, employees.get(i), ticket));
+			else
+				ticket.failed(i, String.join(", ", errors));
+		}
+
+		if (valid.isEmpty()) {
+			tickets.put(ticket.id, ticket);
+			return ticket.snapshot();
+		}
+		if (!accepting || !capacity.tryAcquire(valid.size())) {
+			long seconds = Math.max(1, config.getRetryAfter().toSeconds());
+			throw new EmployeeIngestRejectedException(LogDescription.INGEST_QUEUE_FULL.getLog().formatted(seconds), seconds);
+		}
+		// Registered before the flusher can take an item, so it always finds the ticket to settle
+		pending.put(ticket.id, ticket);
+		// Slots are reserved, so these adds never block or fail
+		valid.forEach(queue::add);
+		return ticket.snapshot();
+	}
+
+	public Optional<IngestTicket> status(String id) {
+		// Pending first, settle() adds to the cache before it removes from pending
+		Ticket ticket = pending.get(id);
+		if (ticket == null)
+			ticket = tickets.getIfPresent(id);
+		return Optional.ofNullable(ticket).map(Ticket::snapshot);
+	}
+
+	// Called on the flusher thread only, once a ticket's last item is written it moves to the bounded cache
+	private void settle(Ticket ticket) {
+		if (ticket.isDone() && pending.containsKey(ticket.id)) {
+			tickets.put(ticket.id, ticket);
+			pending.remove(ticket.id);
+		}
+	}
+
+	private List<String> validate(Employee employee) {
+		if (employee == null)
+			return List.of(LogDescription.EMPLOYEE_CANNOT_BE_NULL.getLog());
+
+		List<String> errors = new ArrayList<>();
+		for (ConstraintViolation<Employee> violation : validator.validate(employee))
+			errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+		if (employee.getEmail() == null || employee.getEmail().isBlank())
+			errors.add(LogDescription.INGEST_EMAIL_REQUIRED.getLog());
+		Collections.sort(errors);
+		return errors;
+	}
+
+	private void run() {
+		List<Item> batch = new ArrayList<>(config.getMaxBatchSize());
+		long windowNanos = config.getFlushInterval().toNanos();
+		// Keeps going after stop() until the queue is empty, that is the drain
+		while (running || !queue.isEmpty()) {
+			try {
+				Item first = queue.poll(windowNanos, TimeUnit.NANOSECONDS);
+				if (first == null)
+					continue;
+				batch.add(first);
+				long deadline = System.nanoTime() + windowNanos;
+				while (batch.size() < config.getMaxBatchSize()) {
+					queue.drainTo(batch, config.getMaxBatchSize() - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= config.getMaxBatchSize() || remaining <= 0 || !running)
+						break;
+					Item next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next != null)
+						batch.add(next);
+				}
+				flush(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				abandon(batch);
+				return;
+			} finally {
+				capacity.release(batch.size());
+				batch.clear();
+			}
+		}
+	}
+
+	// Nothing writes these once the flusher is gone, so their tickets complete as failed instead of staying pending
+	private void abandon(List<Item> batch) {
+		accepting = false;
+		List<Item> abandoned = new ArrayList<>(batch);
+		capacity.release(queue.drainTo(abandoned));
+		abandoned.forEach(item -> item.ticket.failed(item.index, LogDescription.INGEST_INTERRUPTED.getLog()));
+		abandoned.forEach(item -> settle(item.ticket));
+		failedItems.increment(abandoned.size());
+		log.error(LogDescription.INGEST_FLUSHER_INTERRUPTED.getPattern(), abandoned.size());
+	}
+
+	void flush(List<Item> batch) {
+		// Last write wins per email within the window, earlier items never reach the database
+		Map<String, Item> latest = new LinkedHashMap<>();
+		for (Item item : batch) {
+			Item replaced = latest.put(item.employee.getEmail(), item);
+			if (replaced != null) {
+				replaced.ticket.coalesced();
+				coalescedItems.increment();
+			}
+		}
+		List<Item> items = new ArrayList<>(latest.values());
+
+		try {
+			int created = service.upsertAll(items.stream().map(item -> item.employee).toList());
+			items.forEach(item -> item.ticket.processed());
+			processedItems.increment(items.size());
+			log.debug(LogDescription.INGEST_FLUSHED.getPattern(), items.size(), created, batch.size() - items.size());
+		} catch (RuntimeException e) {
+			// One bad row fails the whole transaction, retry singly so it only fails itself
+			log.warn(LogDescription.INGEST_BATCH_FAILED.getPattern(), e.getMessage());
+			items.forEach(this::flushOne);
+		}
+		batch.forEach(item -> settle(item.ticket));
+	}
+
+	private void flushOne(Item item) {
+		try {
+			service.upsertAll(List.of(item.employee));
+			item.ticket.processed();
+			processedItems.increment();
+		} catch (RuntimeException e) {
+			item.ticket.failed(item.index, NestedExceptionUtils.getMostSpecificCause(e));
+			failedItems.increment();
+		}
+	}
+
+	@Override
+	public void start() {
+		running = true;
+		accepting = true;
+		flusher = new Thread(this::run, "employee-ingest-flusher");
+		flusher.setDaemon(true);
+		flusher.start();
+	}
+
+	@Override
+	public void stop() {
+		accepting = false;
+		running = false;
+		try {
+			flusher.join(config.getDrainTimeout().toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (!queue.isEmpty())
+			log.error(LogDescription.INGEST_DRAIN_INCOMPLETE.getPattern(), queue.size());
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	// Stops after the web server, so no submission can arrive once draining has started
+	@Override
+	public int getPhase() {
+		return SmartLifecycle.DEFAULT_PHASE - 4096;
+	}
+
+	private static Counter items(MeterRegistry registry, String result) {
+		return Counter.builder(ITEMS)
+				.description("Ingested employees by outcome")
+				.tag("result", result)
+				.register(registry);
+	}
+
+	record Item(int index, Employee employee, Ticket ticket) {
+	}
+
+	static final class Ticket {
+
+		private final String id;
+		private final int accepted;
+		private final AtomicInteger processed = new AtomicInteger();
+		private final AtomicInteger coalesced = new AtomicInteger();
+		private final AtomicInteger failed = new AtomicInteger();
+		private final List<String> errors = Collections.synchronizedList(new ArrayList<>());
+
+		private Ticket(String id, int accepted) {
+			this.id = id;
+			this.accepted = accepted;
+		}
+
+		void processed() {
+			processed.incrementAndGet();
+		}
+
+		void coalesced() {
+			coalesced.incrementAndGet();
+		}
+
+		void failed(int index, Object reason) {
+			errors.add(index + ": " + (reason instanceof Throwable cause ? cause.getMessage() : reason));
+			failed.incrementAndGet();
+		}
+
+		boolean isDone() {
+			return processed.get() + coalesced.get() + failed.get() >= accepted;
+		}
+
+		IngestTicket snapshot() {
+			List<String> sortedErrors;
+			synchronized (errors) {
+				sortedErrors = new ArrayList<>(errors);
+			}
+			return IngestTicket.builder()
+					.id(id)
+					.status(isDone() ? IngestStatus.COMPLETED : IngestStatus.PENDING)
+					.accepted(accepted)
+					.processed(processed.get())
+					.coalesced(coalesced.get())
+					.failed(failed.get())
+					.errors(sortedErrors)
+					.build();
+		}
+	}
+}
@@ -1,11 +1,19 @@
 package com.dev.project.employee.service;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import com.dev.project.employee.models.BatchItemResult;
 import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeChanges;
+import com.dev.project.employee.models.EmployeeListing;
+import com.dev.project.employee.models.EmployeeLookup;
+import com.dev.project.employee.models.EmployeePatch;
+import com.dev.project.employee.models.EmployeeSummary;
 import com.dev.project.employee.models.LogDescription;
 import com.dev.project.employee.models.Response;
 import com.dev.project.employee.models.Status;
@@ -13,14 +21,42 @@ public interface EmployeeService {
 	
     Response<Employee>  create(Employee employee) throws Exception;
     
+    Response<List<BatchItemResult>> createAll(List<Employee> employees) throws Exception;
+    
     Response< List<Employee>> getAll() throws Exception;
     
+    Response<List<Employee>> getPage(String after, Integer limit) throws Exception;
+    
+    Response<List<EmployeeSummary>> search(String department, String email, String namePrefix, String after, Integer limit);
+    
+    EmployeeListing list(String department, String email, String namePrefix, String after, Integer limit, String ifNoneMatch);
+    
+    Response<List<EmployeeSummary>> suggest(String query, Integer limit);
+    
     Response<Employee>  getById(Long id) throws Exception;
     
+    Response<EmployeeLookup> lookup(List<Long> ids);
+    
+    Optional<Long> findVersion(Long id);
+    
+    String getCollectionTag();
+    
+    long exportAll(Consumer<Employee> sink);
+    
     Response<Employee> update(Long id, Employee employee) throws Exception;
     
+    int upsertAll(List<Employee> employees);
+    
+    int importAll(List<Employee> employees);
+    
+    Response<Employee> patch(Long id, Long version, EmployeePatch patch);
+    
     Response<Void> delete(Long id) throws Exception;
     
+    Response<Integer> deleteAll(List<Long> ids, String department) throws Exception;
+    
+    Response<EmployeeChanges> changes(String since, Integer limit);
+    
     default <T> ResponseEntity<Response<T>> buildErrorResponse(Exception e, LogDescription logDesc) {
 	    Response<T> errorResponse = Response.<T>builder()
 									        .status(Status.FAILURE)
@@ -1,16 +1,55 @@
 package com.dev.project.employee.service;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.dev.project.employee.config.EmployeeProperties;
 import com.dev.project.employee.exception.EmployeeNotFoundException;
+import com.dev.project.employee.exception.EmployeeSyncTokenExpiredException;
+import com.dev.project.employee.exception.EmployeeVersionConflictException;
+import com.dev.project.employee.models.BatchItemResult;
 import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeChanges;
+import com.dev.project.employee.models.EmployeeEvent;
+import com.dev.project.employee.models.EmployeeEventType;
+import com.dev.project.employee.models.EmployeeListing;
+import com.dev.project.employee.models.EmployeeLookup;
+import com.dev.project.employee.models.EmployeePatch;
+import com.dev.project.employee.models.EmployeeSummary;
+import com.dev.project.employee.models.EmployeeTombstone;
 import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.models.PageCursor;
 import com.dev.project.employee.models.Response;
+import com.dev.project.employee.models.Status;
+import com.dev.project.employee.models.SyncToken;
+import com.dev.project.employee.models.VersionTag;
 import com.dev.project.employee.repository.EmployeeRepository;
+import com.dev.project.employee.repository.EmployeeTombstoneRepository;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -18,11 +57,31 @@ import lombok.RequiredArgsConstructor;
 public class EmployeeServiceImpl implements EmployeeService {
 
 	private final EmployeeRepository repo;
+	private final EmployeeProperties properties;
+	private final Validator validator;
+	private final EmployeeCache cache;
+	private final EmployeeSuggestIndex suggestIndex;
+	private final EmployeeChangeFeed changeFeed;
+	private final EmployeeChangeLog changeLog;
+	private final EmployeeTombstoneRepository tombstones;
+	private final PlatformTransactionManager transactionManager;
+
+	// Concurrent lookups for the same id share one database load when the cache is off,
+	// the async cache already coalesces loads when it is on
+	private final SingleFlight<Long, Employee> loads = new SingleFlight<>();
 
 	@Override
+	@Transactional
 	public Response<Employee> create(Employee employee) {
 		if (employee != null) {
+			employee.setChangeSeq(changeLog.pending());
 			Employee response = repo.save(employee);
+			// The INSERT may only run at flush, a duplicate email failing there must not leave a phantom entry
+			afterCommit(() -> {
+				cache.put(response);
+				suggestIndex.put(EmployeeSummary.of(response));
+			});
+			changeFeed.publish(EmployeeEvent.of(EmployeeEventType.CREATED, response));
 			return buildSuccessResponse(response, LogDescription.CREATED_EMPLOYEE,response.getId());
 		}else {
 			throw new IllegalArgumentException(LogDescription.EMPLOYEE_CANNOT_BE_NULL.getLog());
@@ -30,37 +89,555 @@ public class EmployeeServiceImpl implements EmployeeService {
 	}
 
 	@Override
+	@Transactional
+	public Response<List<BatchItemResult>> createAll(List<Employee> employees) {
+		EmployeeProperties.Batch batch = properties.getBatch();
+		if (employees == null || employees.isEmpty())
+			throw new IllegalArgumentException(LogDescription.EMPLOYEE_BATCH_EMPTY.getLog());
+		if (employees.size() > batch.getMaxSize())
+			throw new IllegalArgumentException(LogDescription.EMPLOYEE_BATCH_TOO_LARGE.getLog().formatted(batch.getMaxSize()));
+
+		// A taken email would fail the flush and roll back every chunk, so it is caught up front with one IN query
+		Set<String> taken = new HashSet<>();
+		repo.findByEmailIn(employees.stream().filter(Objects::nonNull).map(Employee::getEmail).filter(Objects::nonNull).toList())
+				.forEach(employee -> taken.add(employee.getEmail()));
+		Map<String, Integer> firstUse = new HashMap<>();
+
+		// One number for the whole batch, it commits or rolls back as one
+		long changeSeq = changeLog.pending();
+		BatchItemResult[] results = new BatchItemResult[employees.size()];
+		List<Employee> chunk = new ArrayList<>(batch.getChunkSize());
+		List<Integer> chunkIndexes = new ArrayList<>(batch.getChunkSize());
+		int created = 0;
+
+		for (int i = 0; i < employees.size(); i++) {
+			Employee employee = employees.get(i);
+			List<String> errors = validate(employee);
+			if (errors.isEmpty())
+				errors = checkEmail(employee.getEmail(), i, taken, firstUse);
+			if (!errors.isEmpty()) {
+				results[i] = BatchItemResult.builder().index(i).status(Status.FAILURE).errors(errors).build();
+				continue;
+			}
+			// Always an insert, a client supplied id would turn persist into a merge
+			employee.setId(null);
+			employee.setChangeSeq(changeSeq);
+			chunk.add(employee);
+			chunkIndexes.add(i);
+			if (chunk.size() == batch.getChunkSize()) {
+				created += saveChunk(chunk, chunkIndexes, results);
+			}
+		}
+		if (!chunk.isEmpty())
+			created += saveChunk(chunk, chunkIndexes, results);
+
+		// Indexed only once the batch commits, a failing chunk rolls the whole batch back
+		List<EmployeeSummary> summaries = new ArrayList<>(created);
+		List<EmployeeEvent> events = new ArrayList<>(created);
+		for (BatchItemResult result : results) {
+			if (result.getStatus() == Status.SUCCESS) {
+				Employee saved = employees.get(result.getIndex());
+				summaries.add(EmployeeSummary.of(saved));
+				events.add(EmployeeEvent.of(EmployeeEventType.CREATED, saved));
+			}
+		}
+		afterCommit(() -> summaries.forEach(suggestIndex::put));
+		changeFeed.publishAll(events);
+
+		return buildSuccessResponse(Arrays.asList(results), LogDescription.CREATED_EMPLOYEES, created, employees.size());
+	}
+
+	private int saveChunk(List<Employee> chunk, List<Integer> chunkIndexes, BatchItemResult[] results) {
+		repo.saveAll(chunk);
+		// Send the JDBC batch now and drop the saved entities from the session
+		repo.flush();
+		repo.clearPersistenceContext();
+
+		for (int j = 0; j < chunk.size(); j++) {
+			int index = chunkIndexes.get(j);
+			results[index] = BatchItemResult.builder().index(index).status(Status.SUCCESS).id(chunk.get(j).getId()).build();
+		}
+		int saved = chunk.size();
+		chunk.clear();
+		chunkIndexes.clear();
+		return saved;
+	}
+
+	// Two items with the same email would also fail the flush, the first one wins
+	private static List<String> checkEmail(String email, int index, Set<String> taken, Map<String, Integer> firstUse) {
+		if (email == null)
+			return List.of();
+		if (taken.contains(email))
+			return List.of("email: " + LogDescription.EMPLOYEE_EMAIL_TAKEN.getLog());
+		Integer first = firstUse.putIfAbsent(email, index);
+		if (first != null)
+			return List.of("email: " + LogDescription.EMPLOYEE_EMAIL_REPEATED.getLog().formatted(first));
+		return List.of();
+	}
+
+	private List<String> validate(Employee employee) {
+		if (employee == null)
+			return List.of(LogDescription.EMPLOYEE_CANNOT_BE_NULL.getLog());
+
+		Set<ConstraintViolation<Employee>> violations = validator.validate(employee);
+		return violations.stream()
+				.sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+				.map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+				.toList();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Response<List<Employee>> getAll() {
 		List<Employee> response = repo.findAll();
 		return buildSuccessResponse(response, LogDescription.EMPLOYEE_COUNT_RETRIEVED, response.size());
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public Response<List<Employee>> getPage(String after, Integer limit) {
+		int pageSize = resolvePageSize(limit);
+		Long afterId = PageCursor.decode(after);
+
+		// One extra row tells us whether there is a next page without a count query
+		List<Employee> rows = repo.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1));
+		boolean hasNext = rows.size() > pageSize;
+		List<Employee> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+		Response<List<Employee>> response = buildSuccessResponse(page, LogDescription.EMPLOYEE_COUNT_RETRIEVED, page.size());
+		if (hasNext)
+			response.setNextCursor(PageCursor.encode(page.get(page.size() - 1).getId()));
+		return response;
+	}
+
+	// One read-only transaction holds one connection, so the tag and the rows come from the same replica.
+	// The tag is read first and can only be older than the rows, which at worst costs the client a refetch
+	@Override
+	@Transactional(readOnly = true)
+	public EmployeeListing list(String department, String email, String namePrefix, String after, Integer limit,
+			String ifNoneMatch) {
+		String tag = getCollectionTag();
+		if (VersionTag.matches(ifNoneMatch, tag))
+			return new EmployeeListing(tag, null);
+
+		// Filtered reads return projections, the unfiltered list keeps returning full employees
+		boolean filtered = department != null || email != null || namePrefix != null;
+		Response<?> response = filtered ? search(department, email, namePrefix, after, limit) : getPage(after, limit);
+		return new EmployeeListing(tag, response);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Response<List<EmployeeSummary>> search(String department, String email, String namePrefix, String after, Integer limit) {
+		boolean byDepartment = hasText(department);
+		boolean byEmail = hasText(email);
+		boolean byName = hasText(namePrefix);
+		// Each filter has its own index, combining them would leave all but one as a residual scan
+		if ((byDepartment ? 1 : 0) + (byEmail ? 1 : 0) + (byName ? 1 : 0) != 1)
+			throw new IllegalArgumentException(LogDescription.SEARCH_FILTER_REQUIRED.getLog());
+
+		int pageSize = resolvePageSize(limit);
+		Limit rowLimit = Limit.of(pageSize + 1);
+
+		List<EmployeeSummary> rows;
+		if (byName) {
+			PageCursor.NamePosition position = PageCursor.decodeNamePosition(after);
+			rows = repo.findByNamePrefixAfter(namePrefix, position.getName(), position.getId(), rowLimit);
+		} else {
+			Long afterId = PageCursor.decode(after);
+			rows = byDepartment
+					? repo.findByDepartmentAndIdGreaterThanOrderByIdAsc(department, afterId, rowLimit)
+					: repo.findByEmailAndIdGreaterThanOrderByIdAsc(email, afterId, rowLimit);
+		}
+
+		boolean hasNext = rows.size() > pageSize;
+		List<EmployeeSummary> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+		Response<List<EmployeeSummary>> response = buildSuccessResponse(page, LogDescription.EMPLOYEE_COUNT_RETRIEVED, page.size());
+		if (hasNext) {
+			EmployeeSummary last = page.get(page.size() - 1);
+			response.setNextCursor(byName ? PageCursor.encode(last.getName(), last.getId()) : PageCursor.encode(last.getId()));
+		}
+		return response;
+	}
+
+	private static boolean hasText(String value) {
+		return value != null && !value.isBlank();
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public Response<List<EmployeeSummary>> suggest(String query, Integer limit) {
+		if (!hasText(query))
+			throw new IllegalArgumentException(LogDescription.SUGGEST_QUERY_REQUIRED.getLog());
+
+		EmployeeProperties.Suggest suggest = properties.getSuggest();
+		int size = resolveLimit(limit, suggest.getDefaultLimit(), suggest.getMaxLimit());
+		List<EmployeeSummary> matches = suggestIndex.isEnabled()
+				? suggestIndex.suggest(query, size)
+				: repo.findByNamePrefixAfter(query, "", 0L, Limit.of(size));
+		return buildSuccessResponse(matches, LogDescription.SUGGESTED_EMPLOYEES, matches.size());
+	}
+
+	private int resolvePageSize(Integer limit) {
+		EmployeeProperties.Pagination pagination = properties.getPagination();
+		return resolveLimit(limit, pagination.getDefaultPageSize(), pagination.getMaxPageSize());
+	}
+
+	private static int resolveLimit(Integer limit, int defaultSize, int maxSize) {
+		if (limit == null)
+			return defaultSize;
+		if (limit < 1)
+			throw new IllegalArgumentException(LogDescription.INVALID_PAGE_SIZE.getLog());
+		return Math.min(limit, maxSize);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
 	public Response<Employee> getById(Long id) {
 
-		Optional<Employee> employee = repo.findById(id);
+		Employee employee = cache.isEnabled() ? cache.get(id, this::loadFromPrimary) : loads.execute(id, this::load);
+		return buildSuccessResponse(employee, LogDescription.EMPLOYEE_COUNT_RETRIEVED,1);
+	}
 
-		if (employee.isPresent())
-			return buildSuccessResponse(employee.get(), LogDescription.EMPLOYEE_COUNT_RETRIEVED,1);
-		else
-			throw new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog());
+	@Override
+	@Transactional(readOnly = true)
+	public Optional<Long> findVersion(Long id) {
+		Employee cached = cache.peek(id);
+		if (cached != null)
+			return Optional.ofNullable(cached.getVersion());
+		return repo.findVersionById(id);
+	}
+
+	// Every write moves the change counter, so its committed value versions the whole table in one row read
+	@Override
+	@Transactional(readOnly = true)
+	public String getCollectionTag() {
+		return "\"" + changeLog.watermark() + "\"";
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public Response<EmployeeLookup> lookup(List<Long> ids) {
+		EmployeeProperties.Lookup config = properties.getLookup();
+		if (ids == null || ids.isEmpty() || ids.stream().anyMatch(Objects::isNull))
+			throw new IllegalArgumentException(LogDescription.LOOKUP_IDS_REQUIRED.getLog());
+		if (ids.size() > config.getMaxIds())
+			throw new IllegalArgumentException(LogDescription.LOOKUP_TOO_MANY_IDS.getLog().formatted(config.getMaxIds()));
+
+		// Keyed in request order, a cache hit is answered here and only the misses are queried
+		Map<Long, Employee> resolved = new LinkedHashMap<>();
+		List<Long> misses = new ArrayList<>();
+		for (Long id : ids) {
+			if (resolved.containsKey(id))
+				continue;
+			Employee cached = cache.peek(id);
+			resolved.put(id, cached);
+			if (cached == null)
+				misses.add(id);
+		}
+
+		// Rows read here are not cached, a put could land after a concurrent update's and bring the old row back
+		int chunkSize = config.getChunkSize();
+		for (int from = 0; from < misses.size(); from += chunkSize)
+			repo.findAllById(misses.subList(from, Math.min(from + chunkSize, misses.size())))
+					.forEach(employee -> resolved.put(employee.getId(), employee));
+
+		List<Employee> employees = new ArrayList<>(resolved.size());
+		List<Long> missing = new ArrayList<>();
+		resolved.forEach((id, employee) -> {
+			if (employee != null)
+				employees.add(employee);
+			else
+				missing.add(id);
+		});
+		return buildSuccessResponse(EmployeeLookup.builder().employees(employees).missing(missing).build(),
+				LogDescription.LOOKED_UP_EMPLOYEES, employees.size(), resolved.size());
+	}
+
+	private Employee load(Long id) {
+		return repo.findById(id)
+				.orElseThrow(() -> new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog()));
+	}
+
+	// What is cached stays for the whole time to live, so it is read from the primary in a transaction of its own.
+	// After an eviction a lagging replica would put the old row straight back
+	private Employee loadFromPrimary(Long id) {
+		TransactionTemplate primary = new TransactionTemplate(transactionManager);
+		primary.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return primary.execute(status -> load(id));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long exportAll(Consumer<Employee> sink) {
+		EmployeeProperties.Export export = properties.getExport();
+		long count = 0;
+
+		try (Stream<Employee> employees = repo.streamAll(export.getFetchSize())) {
+			Iterator<Employee> iterator = employees.iterator();
+			while (iterator.hasNext()) {
+				sink.accept(iterator.next());
+				// Keep the session from holding on to every row already written out
+				if (++count % export.getClearInterval() == 0)
+					repo.clearPersistenceContext();
+			}
+		}
+		return count;
+	}
+
+	@Override
+	@Transactional
 	public Response<Employee> update(Long id, Employee employee) {
-		Response<Employee> existingEmployee = getById(id);
+		// Read from the database, the cached instance is shared with concurrent readers and must not be mutated.
+		// The read joins this read-write transaction, so with replica routing on it comes from the primary
+		Employee emp = repo.findById(id)
+				.orElseThrow(() -> new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog()));
 
-		Employee emp = existingEmployee.getData();
 		emp.setName(employee.getName());
 		emp.setDepartment(employee.getDepartment());
 		emp.setEmail(employee.getEmail());
+		emp.setChangeSeq(changeLog.pending());
 		Employee savedEmployee = repo.save(emp);
+		// Later lookups must not join a load that started before this write. By commit the flush has bumped the version
+		afterCommit(() -> {
+			loads.forget(id);
+			cache.put(savedEmployee);
+			suggestIndex.put(EmployeeSummary.of(savedEmployee));
+		});
+		changeFeed.publish(EmployeeEvent.of(EmployeeEventType.UPDATED, savedEmployee));
 		return buildSuccessResponse(savedEmployee, LogDescription.UPDATED_EMPLOYEE);
 	}
 
 	@Override
+	@Transactional
+	public int upsertAll(List<Employee> employees) {
+		// Matched on the unique email, callers pass each email at most once
+		Map<String, Employee> existing = new HashMap<>();
+		repo.findByEmailIn(employees.stream().map(Employee::getEmail).toList())
+				.forEach(employee -> existing.put(employee.getEmail(), employee));
+
+		long changeSeq = changeLog.pending();
+		List<Employee> updated = new ArrayList<>();
+		List<Employee> created = new ArrayList<>();
+		for (Employee employee : employees) {
+			Employee current = existing.get(employee.getEmail());
+			if (current != null) {
+				// Managed entity, dirty checking turns these into batched UPDATEs with a version bump
+				current.setName(employee.getName());
+				current.setDepartment(employee.getDepartment());
+				current.setChangeSeq(changeSeq);
+				updated.add(current);
+			} else {
+				employee.setId(null);
+				employee.setChangeSeq(changeSeq);
+				created.add(employee);
+			}
+		}
+		repo.saveAll(created);
+		repo.flush();
+
+		List<EmployeeSummary> summaries = new ArrayList<>(employees.size());
+		List<EmployeeEvent> events = new ArrayList<>(employees.size());
+		updated.forEach(employee -> {
+			summaries.add(EmployeeSummary.of(employee));
+			events.add(EmployeeEvent.of(EmployeeEventType.UPDATED, employee));
+		});
+		created.forEach(employee -> {
+			summaries.add(EmployeeSummary.of(employee));
+			events.add(EmployeeEvent.of(EmployeeEventType.CREATED, employee));
+		});
+		afterCommit(() -> {
+			updated.forEach(employee -> {
+				loads.forget(employee.getId());
+				cache.invalidate(employee.getId());
+			});
+			summaries.forEach(suggestIndex::put);
+		});
+		changeFeed.publishAll(events);
+		repo.clearPersistenceContext();
+		return created.size();
+	}
+
+	// Rows arrive already validated by EmployeeImportJobs, so the chunk goes straight to the database
+	@Override
+	@Transactional
+	public int importAll(List<Employee> employees) {
+		long changeSeq = changeLog.pending();
+		for (Employee employee : employees) {
+			// A chunk retried after a rollback still carries the id and version its failed persist assigned
+			employee.setId(null);
+			employee.setVersion(null);
+			employee.setChangeSeq(changeSeq);
+		}
+		repo.saveAll(employees);
+		repo.flush();
+		repo.clearPersistenceContext();
+
+		List<EmployeeSummary> summaries = new ArrayList<>(employees.size());
+		List<EmployeeEvent> events = new ArrayList<>(employees.size());
+		for (Employee employee : employees) {
+			summaries.add(EmployeeSummary.of(employee));
+			events.add(EmployeeEvent.of(EmployeeEventType.CREATED, employee));
+		}
+		afterCommit(() -> summaries.forEach(suggestIndex::put));
+		changeFeed.publishAll(events);
+		return employees.size();
+	}
+
+	@Override
+	@Transactional
+	public Response<Employee> patch(Long id, Long version, EmployeePatch patch) {
+		if (patch == null || patch.isEmpty())
+			throw new IllegalArgumentException(LogDescription.EMPLOYEE_PATCH_EMPTY.getLog());
+
+		int updated = repo.patch(id, version, patch.getName(), patch.getDepartment(), patch.getEmail(), changeLog.pending());
+		if (updated == 0) {
+			// Only the failure path pays for a second query to tell a missing row from a stale version
+			if (!repo.existsById(id))
+				throw new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog());
+			throw new EmployeeVersionConflictException(LogDescription.EMPLOYEE_VERSION_CONFLICT.getLog());
+		}
+
+		afterCommit(() -> {
+			loads.forget(id);
+			cache.invalidate(id);
+			suggestIndex.merge(id, patch.getName(), patch.getDepartment(), patch.getEmail());
+		});
+		changeFeed.publish(EmployeeEvent.of(EmployeeEventType.PATCHED, Employee.builder().id(id).version(version + 1)
+				.name(patch.getName()).department(patch.getDepartment()).email(patch.getEmail()).build()));
+		// The row is not re-read, callers get the new version to use in their next If-Match
+		Employee patched = Employee.builder().id(id).version(version + 1).build();
+		return buildSuccessResponse(patched, LogDescription.PATCHED_EMPLOYEE);
+	}
+
+	@Override
+	@Transactional
 	public Response<Void> delete(Long id) {
-		repo.deleteById(id);
+		if (repo.deleteRowById(id) == 0)
+			throw new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog());
+		tombstones.save(new EmployeeTombstone(id, changeLog.pending(), Instant.now()));
+
+		afterCommit(() -> {
+			loads.forget(id);
+			cache.invalidate(id);
+			suggestIndex.remove(id);
+		});
+		changeFeed.publish(EmployeeEvent.deleted(id));
 		return buildSuccessResponse(null, LogDescription.DELETED_EMPLOYEE);
 	}
+
+	@Override
+	@Transactional
+	public Response<Integer> deleteAll(List<Long> ids, String department) {
+		boolean byIds = ids != null && !ids.isEmpty();
+		boolean byDepartment = department != null && !department.isBlank();
+		if (byIds == byDepartment)
+			throw new IllegalArgumentException(LogDescription.DELETE_FILTER_REQUIRED.getLog());
+
+		long changeSeq = changeLog.pending();
+		int deleted;
+		if (byIds) {
+			int maxSize = properties.getBatch().getMaxSize();
+			if (ids.size() > maxSize)
+				throw new IllegalArgumentException(LogDescription.EMPLOYEE_BATCH_TOO_LARGE.getLog().formatted(maxSize));
+			tombstones.recordByIdIn(ids, changeSeq, Instant.now());
+			// Read back before the rows go, ids that did not exist have no tombstone and get no event
+			List<Long> deletedIds = tombstones.findEmployeeIdsByChangeSeq(changeSeq);
+			deleted = repo.deleteRowsTombstonedAt(changeSeq);
+			afterCommit(() -> ids.forEach(id -> {
+				loads.forget(id);
+				cache.invalidate(id);
+				suggestIndex.remove(id);
+			}));
+			if (!deletedIds.isEmpty())
+				changeFeed.publishAll(deletedIds.stream().map(EmployeeEvent::deleted).toList());
+		} else {
+			tombstones.recordByDepartment(department, changeSeq, Instant.now());
+			deleted = repo.deleteRowsTombstonedAt(changeSeq);
+			// The deleted ids are unknown here, so drop everything rather than serve ghosts
+			afterCommit(() -> {
+				loads.forgetAll();
+				cache.invalidateAll();
+				suggestIndex.removeDepartment(department);
+			});
+			if (deleted > 0)
+				changeFeed.publish(EmployeeEvent.departmentDeleted(department));
+		}
+		return buildSuccessResponse(deleted, LogDescription.DELETED_EMPLOYEES, deleted);
+	}
+
+	// Read-write, so with replica routing on it reads the primary, a lagging replica would skip changes below the watermark
+	@Override
+	@Transactional
+	public Response<EmployeeChanges> changes(String since, Integer limit) {
+		int pageSize = resolvePageSize(limit);
+		long now = System.currentTimeMillis();
+		boolean fullSync = since == null || since.isBlank();
+		SyncToken from = fullSync ? SyncToken.start(now) : SyncToken.decode(since);
+		if (from.getIssuedAt() < now - changeLog.tombstoneRetentionMillis())
+			throw new EmployeeSyncTokenExpiredException(LogDescription.SYNC_TOKEN_EXPIRED.getLog());
+
+		// Taken before reading, everything at or below it has committed and is in this transaction's view
+		long upTo = changeLog.watermark();
+		Limit rowLimit = Limit.of(pageSize + 1);
+		List<Employee> rows = repo.findChangedAfter(from.getChangeSeq(), from.getId(), upTo, rowLimit);
+		// A client starting from scratch holds nothing a tombstone could remove
+		List<EmployeeTombstone> removed = fullSync ? List.of()
+				: tombstones.findDeletedAfter(from.getChangeSeq(), from.getId(), upTo, rowLimit);
+
+		// Merge both keyset pages on (change_seq, id), ids are never reused so the two never hold the same id
+		List<Employee> changed = new ArrayList<>();
+		List<Long> deleted = new ArrayList<>();
+		long changeSeq = from.getChangeSeq();
+		long id = from.getId();
+		int r = 0;
+		int t = 0;
+		while (changed.size() + deleted.size() < pageSize && (r < rows.size() || t < removed.size())) {
+			Employee row = r < rows.size() ? rows.get(r) : null;
+			EmployeeTombstone tombstone = t < removed.size() ? removed.get(t) : null;
+			if (tombstone == null || (row != null
+					&& before(row.getChangeSeq(), row.getId(), tombstone.getChangeSeq(), tombstone.getEmployeeId()))) {
+				changed.add(row);
+				changeSeq = row.getChangeSeq();
+				id = row.getId();
+				r++;
+			} else {
+				deleted.add(tombstone.getEmployeeId());
+				changeSeq = tombstone.getChangeSeq();
+				id = tombstone.getEmployeeId();
+				t++;
+			}
+		}
+		boolean hasMore = r < rows.size() || t < removed.size();
+
+		// Only a caught up client moves its retention clock forward, one still paging keeps where it started
+		SyncToken next = new SyncToken(changeSeq, id, hasMore ? from.getIssuedAt() : now);
+		EmployeeChanges page = EmployeeChanges.builder().changed(changed).deleted(deleted).token(next.encode())
+				.hasMore(hasMore).build();
+		return buildSuccessResponse(page, LogDescription.SYNCED_EMPLOYEES, changed.size(), deleted.size());
+	}
+
+	/**
+	 * Runs once the surrounding transaction commits, and not at all if it rolls
+	 * back. Used for the cache and the suggest index: they only ever reflect
+	 * committed rows, and an eviction that ran before commit could be undone by a
+	 * concurrent load re-reading the old row. Without a transaction it runs now.
+	 */
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private static boolean before(long changeSeq, long id, long otherChangeSeq, long otherId) {
+		return changeSeq < otherChangeSeq || (changeSeq == otherChangeSeq && id < otherId);
+	}
 }
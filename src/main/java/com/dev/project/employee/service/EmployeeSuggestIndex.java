@@ -0,0 +1,189 @@
+package com.dev.project.employee.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.regex.Pattern;
+
+import org.springframework.stereotype.Component;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.EmployeeSummary;
+
+/**
+ * In-process prefix index over employee names and emails for typeahead lookups.
+ * Terms are kept sorted, so a prefix query is a range scan that stops after the
+ * first K distinct employees and never touches the database. When disabled
+ * every write is a no-op.
+ */
+@Component
+public class EmployeeSuggestIndex {
+
+	private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern SPACES = Pattern.compile("\\s+");
+
+	// Sorted by (term, id): every employee has one entry per indexed term
+	private final ConcurrentSkipListSet<Term> terms = new ConcurrentSkipListSet<>();
+
+	// Indexed copy per id, needed to find the old terms on update and delete
+	private final ConcurrentHashMap<Long, EmployeeSummary> employees = new ConcurrentHashMap<>();
+
+	private final boolean enabled;
+
+	public EmployeeSuggestIndex(EmployeeProperties properties) {
+		this.enabled = properties.getSuggest().isEnabled();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public void put(EmployeeSummary employee) {
+		if (!enabled || employee == null || employee.getId() == null)
+			return;
+		// compute serializes writers of the same id, so old terms are always removed before new ones appear
+		employees.compute(employee.getId(), (id, previous) -> {
+			if (previous != null)
+				removeTerms(previous);
+			addTerms(employee);
+			return employee;
+		});
+	}
+
+	// Applies a partial update, null fields keep the indexed value. Unknown ids are left alone
+	public void merge(Long id, String name, String department, String email) {
+		employees.computeIfPresent(id, (key, previous) -> {
+			EmployeeSummary merged = new EmployeeSummary(id,
+					name != null ? name : previous.getName(),
+					department != null ? department : previous.getDepartment(),
+					email != null ? email : previous.getEmail());
+			removeTerms(previous);
+			addTerms(merged);
+			return merged;
+		});
+	}
+
+	public void remove(Long id) {
+		employees.computeIfPresent(id, (key, previous) -> {
+			removeTerms(previous);
+			return null;
+		});
+	}
+
+	public void removeDepartment(String department) {
+		employees.values().stream()
+				.filter(employee -> department.equals(employee.getDepartment()))
+				.map(EmployeeSummary::getId)
+				.toList()
+				.forEach(this::remove);
+	}
+
+	public void clear() {
+		employees.clear();
+		terms.clear();
+	}
+
+	public int size() {
+		return employees.size();
+	}
+
+	public List<EmployeeSummary> suggest(String query, int limit) {
+		String prefix = normalize(query);
+		if (prefix.isEmpty())
+			return List.of();
+
+		// An employee can match on both name and email, keep the first hit in term order
+		Map<Long, EmployeeSummary> matches = new LinkedHashMap<>();
+		for (Term term : terms.tailSet(new Term(prefix, 0, null), true)) {
+			if (!term.startsWith(prefix) || matches.size() == limit)
+				break;
+			matches.putIfAbsent(term.employee.getId(), term.employee);
+		}
+		return new ArrayList<>(matches.values());
+	}
+
+	private void addTerms(EmployeeSummary employee) {
+		termsOf(employee).forEach(terms::add);
+	}
+
+	private void removeTerms(EmployeeSummary employee) {
+		termsOf(employee).forEach(terms::remove);
+	}
+
+	// Full name, every later word of the name so "doe" finds "John Doe", and the email.
+	// Word terms point into the normalized name instead of holding their own copy
+	private static List<Term> termsOf(EmployeeSummary employee) {
+		List<Term> terms = new ArrayList<>(4);
+		String name = normalize(employee.getName());
+		if (!name.isEmpty()) {
+			terms.add(new Term(name, 0, employee));
+			for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1))
+				terms.add(new Term(name, i + 1, employee));
+		}
+		String email = normalize(employee.getEmail());
+		if (!email.isEmpty())
+			terms.add(new Term(email, 0, employee));
+		return terms;
+	}
+
+	// Case and accent insensitive, runs of whitespace collapse to one space
+	static String normalize(String value) {
+		if (value == null)
+			return "";
+		String folded = value.strip().toLowerCase(Locale.ROOT);
+		if (hasNonAscii(folded))
+			folded = MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+		return SPACES.matcher(folded).replaceAll(" ");
+	}
+
+	private static boolean hasNonAscii(String value) {
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > 0x7F)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * The suffix of {@code text} starting at {@code offset}, tied to one employee.
+	 */
+	private static final class Term implements Comparable<Term> {
+
+		private final String text;
+		private final int offset;
+		private final EmployeeSummary employee;
+
+		private Term(String text, int offset, EmployeeSummary employee) {
+			this.text = text;
+			this.offset = offset;
+			this.employee = employee;
+		}
+
+		private boolean startsWith(String prefix) {
+			return text.startsWith(prefix, offset);
+		}
+
+		// A null employee sorts before every id, it is only used as the lower bound of a range scan
+		@Override
+		public int compareTo(Term other) {
+			int length = Math.min(text.length() - offset, other.text.length() - other.offset);
+			for (int i = 0; i < length; i++) {
+				char a = text.charAt(offset + i);
+				char b = other.text.charAt(other.offset + i);
+				if (a != b)
+					return a - b;
+			}
+			int byText = (text.length() - offset) - (other.text.length() - other.offset);
+			if (byText != 0)
+				return byText;
+			if (employee == null || other.employee == null)
+				return employee == null ? (other.employee == null ? 0 : -1) : 1;
+			return Long.compare(employee.getId(), other.employee.getId());
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package com.dev.project.employee.service;
+
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.EmployeeSummary;
+import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.repository.EmployeeRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fills {@link EmployeeSuggestIndex} from the database once every singleton is
+ * ready, which is before the web server starts taking requests, so no write can
+ * race the initial load.
+ */
+@Slf4j
+@Component
+public class EmployeeSuggestIndexLoader implements SmartInitializingSingleton {
+
+	private final EmployeeRepository repo;
+	private final EmployeeSuggestIndex index;
+	private final EmployeeProperties properties;
+	private final TransactionTemplate readOnly;
+
+	public EmployeeSuggestIndexLoader(EmployeeRepository repo, EmployeeSuggestIndex index, EmployeeProperties properties,
+			PlatformTransactionManager transactionManager) {
+		this.repo = repo;
+		this.index = index;
+		this.properties = properties;
+		this.readOnly = new TransactionTemplate(transactionManager);
+		this.readOnly.setReadOnly(true);
+	}
+
+	@Override
+	public void afterSingletonsInstantiated() {
+		if (!properties.getSuggest().isEnabled())
+			return;
+
+		long start = System.nanoTime();
+		readOnly.executeWithoutResult(status -> {
+			try (Stream<EmployeeSummary> employees = repo.streamSummaries(properties.getExport().getFetchSize())) {
+				employees.forEach(index::put);
+			}
+		});
+		log.info(LogDescription.SUGGEST_INDEX_LOADED.getPattern(), index.size(), (System.nanoTime() - start) / 1_000_000);
+	}
+}
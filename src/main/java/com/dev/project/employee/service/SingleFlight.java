@@ -0,0 +1,57 @@
+package com.dev.project.employee.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader,
+ * everyone arriving while it runs gets the same result or exception. The key is
+ * released as soon as the load completes, so nothing is cached here.
+ */
+public class SingleFlight<K, V> {
+
+	private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+	public V execute(K key, Function<K, V> loader) {
+		CompletableFuture<V> created = new CompletableFuture<>();
+		CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+		if (existing != null)
+			return await(existing);
+
+		try {
+			V value = loader.apply(key);
+			created.complete(value);
+			return value;
+		} catch (RuntimeException | Error e) {
+			created.completeExceptionally(e);
+			throw e;
+		} finally {
+			inFlight.remove(key, created);
+		}
+	}
+
+	// Detaches any in-flight load so the next caller starts a fresh one, the running load still completes for its waiters
+	public void forget(K key) {
+		inFlight.remove(key);
+	}
+
+	public void forgetAll() {
+		inFlight.clear();
+	}
+
+	private V await(CompletableFuture<V> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			// Rethrow the loader's own exception so callers see e.g. EmployeeNotFoundException
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			if (e.getCause() instanceof Error cause)
+				throw cause;
+			throw e;
+		}
+	}
+}
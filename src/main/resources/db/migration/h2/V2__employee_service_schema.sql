@@ -0,0 +1,23 @@
+-- Ids come from a pooled sequence, allocationSize 50 on Employee. H2 databases are only ever
+-- created fresh, by tests and benchmarks, so the sequence starts at 1
+alter table employee alter column id drop identity;
+create sequence employee_seq start with 1 increment by 50;
+
+-- Optimistic lock and position in the change log
+alter table employee add column version bigint default 0 not null;
+alter table employee add column change_seq bigint default 0 not null;
+
+alter table employee add constraint ux_employee_email unique (email);
+create index idx_employee_department_id on employee (department, id);
+create index idx_employee_name_id on employee (name, id);
+create index idx_employee_change_seq_id on employee (change_seq, id);
+
+create table employee_tombstone (
+    employee_id bigint not null,
+    change_seq bigint not null,
+    deleted_at timestamp(6) with time zone not null,
+    primary key (employee_id)
+);
+
+create index idx_tombstone_change_seq_id on employee_tombstone (change_seq, employee_id);
+create index idx_tombstone_deleted_at on employee_tombstone (deleted_at);
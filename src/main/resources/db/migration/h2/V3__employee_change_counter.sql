@@ -0,0 +1,11 @@
+-- Last change number handed out. Every instance takes its numbers from this one row as it commits,
+-- seeded from the highest number already written so none is handed out twice
+create table employee_change_counter (
+    id integer not null,
+    last_seq bigint not null,
+    primary key (id)
+);
+
+insert into employee_change_counter (id, last_seq)
+select 1, greatest(coalesce((select max(change_seq) from employee), 0),
+                   coalesce((select max(change_seq) from employee_tombstone), 0));
@@ -0,0 +1,9 @@
+-- The employee table as ddl-auto=update created it before migrations existed. Databases that already
+-- have it are baselined at this version and only run what follows
+create table employee (
+    id bigint not null auto_increment,
+    department varchar(255) not null,
+    email varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
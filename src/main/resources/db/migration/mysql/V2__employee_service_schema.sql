@@ -0,0 +1,30 @@
+-- Ids come from a pooled sequence, allocationSize 50 on Employee. MySQL has no sequences, so Hibernate
+-- keeps it in a one-row table. The first block it reads is [next_val - 49, next_val], seeding next_val
+-- 50 above the highest existing id keeps new ids clear of the rows created with auto_increment
+alter table employee modify id bigint not null;
+
+create table employee_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into employee_seq select coalesce(max(id), 0) + 50 from employee;
+
+-- Optimistic lock and position in the change log, existing rows start at 0
+alter table employee add column version bigint default 0 not null;
+alter table employee add column change_seq bigint default 0 not null;
+
+-- Fails if two rows already share an email, those have to be merged by hand first
+alter table employee add constraint ux_employee_email unique (email);
+create index idx_employee_department_id on employee (department, id);
+create index idx_employee_name_id on employee (name, id);
+create index idx_employee_change_seq_id on employee (change_seq, id);
+
+create table employee_tombstone (
+    employee_id bigint not null,
+    change_seq bigint not null,
+    deleted_at datetime(6) not null,
+    primary key (employee_id)
+) engine=InnoDB;
+
+create index idx_tombstone_change_seq_id on employee_tombstone (change_seq, employee_id);
+create index idx_tombstone_deleted_at on employee_tombstone (deleted_at);
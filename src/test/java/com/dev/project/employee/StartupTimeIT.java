@@ -0,0 +1,126 @@
+package com.dev.project.employee;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Time from launching the JVM to the first 200 from GET /employees, for the
+ * extracted fast-startup build in each mode. Runs in the fast-startup profile
+ * once the jar is extracted and the CDS archive written: mvn -Pfast-startup
+ * verify. Each launch gets a fresh in-memory H2 database, so every mode pays
+ * for the migrations and the schema validation.
+ */
+class StartupTimeIT {
+
+	private static final int RUNS = 3;
+	private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+	enum Mode {
+		DEFAULT(),
+		AOT("-Dspring.aot.enabled=true"),
+		// -Xshare:on fails the launch if the archive no longer matches the classpath, instead of silently starting without it
+		AOT_CDS("-Dspring.aot.enabled=true", "-Xshare:on", "-XX:SharedArchiveFile=application.jsa");
+
+		private final List<String> jvmArguments;
+
+		Mode(String... jvmArguments) {
+			this.jvmArguments = List.of(jvmArguments);
+		}
+	}
+
+	private final Path directory = Path.of(System.getProperty("startup.directory", "target/fast-startup"));
+	private final String jar = System.getProperty("startup.jar", "employee-service.jar");
+	private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+	@Test
+	void timeToFirstRequest_ShouldBeShortest_WithAotAndCds() throws Exception {
+		Map<Mode, List<Long>> millis = new EnumMap<>(Mode.class);
+		for (int run = 0; run < RUNS; run++)
+			for (Mode mode : Mode.values())
+				millis.computeIfAbsent(mode, m -> new ArrayList<>()).add(timeToFirstRequest(mode));
+
+		StringBuilder csv = new StringBuilder("mode,run,millis\n");
+		millis.forEach((mode, runs) -> {
+			for (int run = 0; run < runs.size(); run++)
+				csv.append(mode).append(',').append(run + 1).append(',').append(runs.get(run)).append('\n');
+			System.out.printf("%-8s median %d ms, runs %s%n", mode, median(runs), runs);
+		});
+		Files.writeString(directory.resolveSibling("startup-times.csv"), csv);
+
+		assertTrue(median(millis.get(Mode.AOT_CDS)) < median(millis.get(Mode.DEFAULT)),
+				"AOT and CDS " + millis.get(Mode.AOT_CDS) + " ms, default " + millis.get(Mode.DEFAULT) + " ms");
+	}
+
+	private long timeToFirstRequest(Mode mode) throws Exception {
+		int port = freePort();
+		List<String> command = new ArrayList<>();
+		command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+		command.addAll(mode.jvmArguments);
+		// H2 goes last, the archive was dumped from the jar alone and only needs to be a prefix of the classpath
+		command.addAll(List.of("-cp", jar + ":" + h2Jar(), EmployeeCrudApplication.class.getName(),
+				"--server.port=" + port,
+				"--spring.datasource.url=jdbc:h2:mem:startup",
+				"--spring.datasource.username=sa",
+				"--spring.datasource.password=",
+				"--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+				"--spring.flyway.locations=classpath:db/migration/h2",
+				"--logging.level.root=WARN"));
+		Path log = directory.resolveSibling("startup-" + mode.name().toLowerCase() + ".log");
+
+		long start = System.nanoTime();
+		Process process = new ProcessBuilder(command).directory(directory.toFile())
+				.redirectErrorStream(true)
+				.redirectOutput(log.toFile())
+				.start();
+		try {
+			HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees")).build();
+			while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+				if (!process.isAlive())
+					fail(mode + " exited with " + process.exitValue() + ":\n" + Files.readString(log));
+				try {
+					if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200)
+						return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+				} catch (IOException e) {
+					// Not listening yet
+				}
+				Thread.sleep(10);
+			}
+			return fail(mode + " did not answer within " + TIMEOUT + ":\n" + Files.readString(log));
+		} finally {
+			process.destroy();
+			if (!process.waitFor(30, TimeUnit.SECONDS))
+				process.destroyForcibly();
+		}
+	}
+
+	private static String h2Jar() throws Exception {
+		return Path.of(org.h2.Driver.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+	}
+
+	private static int freePort() throws IOException {
+		try (ServerSocket socket = new ServerSocket(0)) {
+			return socket.getLocalPort();
+		}
+	}
+
+	private static long median(List<Long> values) {
+		return values.stream().sorted().toList().get(values.size() / 2);
+	}
+}
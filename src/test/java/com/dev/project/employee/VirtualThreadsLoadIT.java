@@ -0,0 +1,196 @@
+package com.dev.project.employee;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+
+import com.dev.project.employee.models.BatchItemResult;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.service.EmployeeService;
+
+/**
+ * Throughput and p99 of GET /employees/{id} as the number of concurrent clients
+ * grows, served on platform threads and on virtual threads. Runs on a JDK 21
+ * build: mvn -Pvirtual-threads,load-test verify. Both modes boot with the
+ * virtual-threads Spring profile, so they share its pool settings and differ only
+ * in spring.threads.virtual.enabled. The cache is off so every request runs a
+ * query, and every JDBC statement first waits load.query-delay-millis to stand in
+ * for the network round trip to MySQL that in-memory H2 does not have.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsLoadIT {
+
+	private static final int[] CLIENTS = { 50, 200, 800, 2000 };
+	private static final Duration WARMUP = Duration.ofSeconds(5);
+	private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+	private static final int ROWS = 1_000;
+
+	enum Mode {
+		PLATFORM(false),
+		VIRTUAL(true);
+
+		private final boolean virtual;
+
+		Mode(boolean virtual) {
+			this.virtual = virtual;
+		}
+	}
+
+	private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+	@Test
+	void throughput_ShouldBeMeasured_ForEveryClientCount_InBothModes() throws Exception {
+		StringBuilder csv = new StringBuilder("mode,clients,requests_per_second,p99_millis\n");
+		for (Mode mode : Mode.values()) {
+			try (ConfigurableApplicationContext context = start(mode)) {
+				int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+				List<Long> ids = context.getBean(EmployeeService.class)
+						.createAll(IntStream.range(0, ROWS).mapToObj(VirtualThreadsLoadIT::employee).toList())
+						.getData().stream().map(BatchItemResult::getId).toList();
+
+				for (int clients : CLIENTS) {
+					run(port, ids, clients, WARMUP);
+					LoadResult result = run(port, ids, clients, MEASUREMENT);
+					assertEquals(0, result.errors.get(), mode + " with " + clients + " clients");
+					csv.append(mode).append(',').append(clients).append(',').append(result.perSecond(MEASUREMENT))
+							.append(',').append(result.p99Millis()).append('\n');
+				}
+			}
+		}
+		Files.writeString(Path.of("target", "virtual-threads-load.csv"), csv);
+	}
+
+	private ConfigurableApplicationContext start(Mode mode) {
+		return new SpringApplicationBuilder(EmployeeCrudApplication.class, QueryDelay.class)
+				.profiles("virtual-threads")
+				.run("--server.port=0",
+						"--spring.threads.virtual.enabled=" + mode.virtual,
+						"--spring.datasource.url=jdbc:h2:mem:load-" + mode.name().toLowerCase() + ";DB_CLOSE_DELAY=-1",
+						"--spring.datasource.driver-class-name=org.h2.Driver",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.jpa.show-sql=false",
+						"--employee.cache.enabled=false",
+						"--employee.admission.enabled=false",
+						"--employee.suggest.enabled=false",
+						"--logging.level.root=WARN");
+	}
+
+	// Closed loop: each client sends its next request as soon as the previous one is answered
+	private LoadResult run(int port, List<Long> ids, int clients, Duration duration) throws Exception {
+		LoadResult result = new LoadResult();
+		long deadline = System.nanoTime() + duration.toNanos();
+		List<CompletableFuture<Void>> loops = new ArrayList<>(clients);
+		for (int i = 0; i < clients; i++)
+			loops.add(loop(port, ids, result, deadline));
+		CompletableFuture.allOf(loops.toArray(CompletableFuture[]::new)).get(duration.toSeconds() + 60, TimeUnit.SECONDS);
+		return result;
+	}
+
+	private CompletableFuture<Void> loop(int port, List<Long> ids, LoadResult result, long deadline) {
+		if (System.nanoTime() >= deadline)
+			return CompletableFuture.completedFuture(null);
+		long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+		HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/employees/" + id)).build();
+		long start = System.nanoTime();
+		return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+				.handle((response, failure) -> {
+					if (failure != null || response.statusCode() != 200)
+						result.errors.incrementAndGet();
+					else
+						result.latencies.add(System.nanoTime() - start);
+					return null;
+				})
+				.thenCompose(ignored -> loop(port, ids, result, deadline));
+	}
+
+	private static Employee employee(int i) {
+		return Employee.builder().name("Employee " + i).department("Dept " + (i % 10))
+				.email("employee" + i + "@example.com").build();
+	}
+
+	/**
+	 * Delays every statement the application prepares. Registered as a source of
+	 * this test's context only, it is not a @Configuration so scanning skips it.
+	 */
+	static class QueryDelay {
+
+		@Bean
+		static BeanPostProcessor queryDelayPostProcessor() {
+			return new BeanPostProcessor() {
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String beanName) {
+					return bean instanceof DataSource dataSource ? delayed(dataSource) : bean;
+				}
+			};
+		}
+
+		private static DataSource delayed(DataSource target) {
+			long millis = Long.getLong("load.query-delay-millis", 5);
+			return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(), new Class<?>[] { DataSource.class },
+					(proxy, method, args) -> {
+						Object result = invoke(target, method, args);
+						if (!(result instanceof Connection connection))
+							return result;
+						return Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] { Connection.class },
+								(connectionProxy, connectionMethod, connectionArgs) -> {
+									if (connectionMethod.getName().startsWith("prepare"))
+										Thread.sleep(millis);
+									return invoke(connection, connectionMethod, connectionArgs);
+								});
+					});
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+		}
+	}
+
+	private static final class LoadResult {
+
+		private final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+		private final AtomicLong errors = new AtomicLong();
+
+		long perSecond(Duration duration) {
+			return latencies.size() / Math.max(1, duration.toSeconds());
+		}
+
+		long p99Millis() {
+			List<Long> sorted = new ArrayList<>(latencies);
+			Collections.sort(sorted);
+			return sorted.isEmpty() ? 0 : TimeUnit.NANOSECONDS.toMillis(sorted.get((int) Math.floor(0.99 * (sorted.size() - 1))));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package com.dev.project.employee.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.LogDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdmissionControlFilterTest {
+
+	private static final int POOL = 8;
+	private static final long SERVICE_MILLIS = 10;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void overLimitRequest_ShouldGetFast503_WithRetryAfterAndEnvelope() throws Exception {
+		MeterRegistry registry = new SimpleMeterRegistry();
+		AdmissionControlFilter filter = new AdmissionControlFilter(properties(true), objectMapper, registry);
+		AdaptiveLimiter writes = filter.limiter(false);
+		while (writes.tryAcquire()) {
+			// Occupy every write slot
+		}
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", "/employees"), response, (req, res) -> {
+			throw new AssertionError("rejected request reached the controller");
+		});
+
+		assertEquals(503, response.getStatus());
+		assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+		assertEquals("FAILURE", objectMapper.readTree(response.getContentAsByteArray()).get("status").asText());
+		assertEquals(LogDescription.SERVICE_OVERLOADED.getLog().formatted(1),
+				objectMapper.readTree(response.getContentAsByteArray()).get("message").asText());
+		assertEquals(1, registry.get(AdmissionControlFilter.REJECTED).tag("kind", "write").counter().count());
+
+		// Reads have their own limit and are still admitted
+		MockHttpServletResponse read = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("GET", "/employees/1"), read, (req, res) -> {
+		});
+		assertEquals(200, read.getStatus());
+
+		// So is a multi-get, which is a POST only to carry its id list
+		MockHttpServletResponse lookup = new MockHttpServletResponse();
+		filter.doFilter(new MockHttpServletRequest("POST", "/employees/lookup"), lookup, (req, res) -> {
+		});
+		assertEquals(200, lookup.getStatus());
+	}
+
+	@Test
+	void limit_ShouldShrinkOnSlowRequests_AndGrowBackWhenFast() {
+		EmployeeProperties.AdmissionLimit config = new EmployeeProperties.AdmissionLimit(20, 2, 40, Duration.ofMillis(10));
+		AdaptiveLimiter limiter = new AdaptiveLimiter(config, 0.5);
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(limiter.tryAcquire());
+			limiter.release(TimeUnit.MILLISECONDS.toNanos(50), false);
+		}
+		assertEquals(2, limiter.getLimit());
+
+		for (int i = 0; i < 5; i++) {
+			assertTrue(limiter.tryAcquire());
+			assertTrue(limiter.tryAcquire());
+			limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+			limiter.release(TimeUnit.MILLISECONDS.toNanos(1), false);
+		}
+		assertTrue(limiter.getLimit() > 2);
+	}
+
+	private static EmployeeProperties properties(boolean enabled) {
+		EmployeeProperties properties = new EmployeeProperties();
+		EmployeeProperties.Admission admission = properties.getAdmission();
+		admission.setEnabled(enabled);
+		admission.setRead(new EmployeeProperties.AdmissionLimit(POOL, 2, 4 * POOL, Duration.ofMillis(3 * SERVICE_MILLIS)));
+		admission.setWrite(new EmployeeProperties.AdmissionLimit(POOL, 2, 4 * POOL, Duration.ofMillis(3 * SERVICE_MILLIS)));
+		return properties;
+	}
+}
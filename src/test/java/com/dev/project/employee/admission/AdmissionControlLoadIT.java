@@ -0,0 +1,148 @@
+package com.dev.project.employee.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Closed-loop overload of the filter alone: CLIENTS threads against a backend
+ * with POOL connections and a fixed service time, with the limiter off and on.
+ * Without admission control every request waits in line for a connection.
+ * Runs with mvn -Pload-test verify and writes p50 and p99 per mode to
+ * target/admission-control-load.csv. Latencies depend on the machine, so only
+ * the rejection counts are asserted.
+ */
+class AdmissionControlLoadIT {
+
+	private static final int POOL = 8;
+	private static final long SERVICE_MILLIS = 10;
+	private static final int CLIENTS = 128;
+	private static final Duration WARMUP = Duration.ofSeconds(3);
+	private static final Duration MEASUREMENT = Duration.ofSeconds(10);
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void overload_ShouldBeMeasured_WithTheLimiterOffAndOn() throws Exception {
+		StringBuilder csv = new StringBuilder("limiter,served,p50_millis,p99_millis,rejected,rejected_p99_micros\n");
+		for (boolean enabled : new boolean[] { false, true }) {
+			AdmissionControlFilter filter = new AdmissionControlFilter(properties(enabled), objectMapper,
+					new SimpleMeterRegistry());
+			run(filter, WARMUP);
+			LoadResult result = run(filter, MEASUREMENT);
+			if (enabled)
+				assertTrue(result.rejected.size() > 0);
+			else
+				assertEquals(0, result.rejected.size());
+			csv.append(enabled ? "on" : "off").append(',').append(result.served.size()).append(',')
+					.append(result.p50Millis()).append(',').append(result.p99Millis()).append(',')
+					.append(result.rejected.size()).append(',').append(result.rejectedP99Micros()).append('\n');
+		}
+		Files.writeString(Path.of("target", "admission-control-load.csv"), csv);
+	}
+
+	private LoadResult run(AdmissionControlFilter filter, Duration duration) throws Exception {
+		Semaphore connections = new Semaphore(POOL, true);
+		FilterChain backend = (req, res) -> {
+			try {
+				connections.acquire();
+				try {
+					Thread.sleep(SERVICE_MILLIS);
+				} finally {
+					connections.release();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		};
+
+		LoadResult result = new LoadResult();
+		long deadline = System.nanoTime() + duration.toNanos();
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		for (int i = 0; i < CLIENTS; i++) {
+			clients.execute(() -> {
+				while (System.nanoTime() < deadline) {
+					MockHttpServletResponse response = new MockHttpServletResponse();
+					long start = System.nanoTime();
+					try {
+						filter.doFilter(new MockHttpServletRequest("GET", "/employees/1"), response, backend);
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+					long elapsed = System.nanoTime() - start;
+					if (response.getStatus() == 503) {
+						result.rejected.add(elapsed);
+						// A well-behaved client backs off instead of hammering the server
+						sleepQuietly(SERVICE_MILLIS);
+					} else {
+						result.served.add(elapsed);
+					}
+				}
+			});
+		}
+		clients.shutdown();
+		assertTrue(clients.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS));
+		return result;
+	}
+
+	private static EmployeeProperties properties(boolean enabled) {
+		EmployeeProperties properties = new EmployeeProperties();
+		EmployeeProperties.Admission admission = properties.getAdmission();
+		admission.setEnabled(enabled);
+		admission.setRead(new EmployeeProperties.AdmissionLimit(POOL, 2, 4 * POOL, Duration.ofMillis(3 * SERVICE_MILLIS)));
+		admission.setWrite(new EmployeeProperties.AdmissionLimit(POOL, 2, 4 * POOL, Duration.ofMillis(3 * SERVICE_MILLIS)));
+		return properties;
+	}
+
+	private static void sleepQuietly(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static final class LoadResult {
+
+		private final List<Long> served = Collections.synchronizedList(new ArrayList<>());
+		private final List<Long> rejected = Collections.synchronizedList(new ArrayList<>());
+
+		long p50Millis() {
+			return TimeUnit.NANOSECONDS.toMillis(percentile(served, 0.50));
+		}
+
+		long p99Millis() {
+			return TimeUnit.NANOSECONDS.toMillis(percentile(served, 0.99));
+		}
+
+		long rejectedP99Micros() {
+			return TimeUnit.NANOSECONDS.toMicros(percentile(rejected, 0.99));
+		}
+
+		private static long percentile(List<Long> samples, double quantile) {
+			List<Long> sorted = new ArrayList<>(samples);
+			Collections.sort(sorted);
+			return sorted.isEmpty() ? 0 : sorted.get((int) Math.min(sorted.size() - 1, Math.floor(quantile * sorted.size())));
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.dev.project.employee.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeePatch;
+import com.dev.project.employee.service.EmployeeCache;
+import com.dev.project.employee.service.EmployeeService;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"spring.datasource.url=jdbc:h2:mem:cache-primary;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.show-sql=false",
+		"employee.routing.enabled=true",
+		"employee.routing.replicas[0].url=jdbc:h2:mem:cache-replica;DB_CLOSE_DELAY=-1",
+		"employee.routing.replicas[0].username=sa",
+		"employee.routing.replicas[0].password=",
+		"employee.suggest.enabled=false" })
+class ReplicaCacheTest {
+
+	@Autowired
+	private EmployeeService service;
+
+	@Autowired
+	private EmployeeCache cache;
+
+	@Autowired
+	private ReplicaRoutingDataSource routingDataSource;
+
+	private JdbcTemplate replica;
+
+	@BeforeEach
+	void setUp() {
+		replica = new JdbcTemplate((DataSource) routingDataSource.getTargets().get("replica-0"));
+		replica.execute("CREATE TABLE IF NOT EXISTS employee (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+				+ "department VARCHAR(255), email VARCHAR(255), version BIGINT DEFAULT 0 NOT NULL, change_seq BIGINT DEFAULT 0 NOT NULL)");
+		replica.update("DELETE FROM employee");
+		cache.invalidateAll();
+	}
+
+	@Test
+	void cacheMiss_ShouldLoadFromThePrimary_WhileTheReplicaLags() throws Exception {
+		Employee created = service.create(Employee.builder().name("Sheldon").department("Physics").email("sheldon@example.com")
+				.build()).getData();
+		Long id = created.getId();
+		// The replica has the row as created and never sees the patch
+		replica.update("INSERT INTO employee (id, name, department, email, version) VALUES (?, 'Sheldon', 'Physics', "
+				+ "'sheldon@example.com', 0)", id);
+
+		service.patch(id, created.getVersion(), EmployeePatch.builder().department("Math").build());
+
+		assertEquals("Math", service.getById(id).getData().getDepartment());
+		Employee cached = cache.peek(id);
+		assertEquals("Math", cached.getDepartment());
+		assertEquals(created.getVersion() + 1, cached.getVersion());
+	}
+}
@@ -0,0 +1,95 @@
+package com.dev.project.employee.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.service.EmployeeService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.show-sql=false",
+		"employee.routing.enabled=true",
+		"employee.routing.replicas[0].url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+		"employee.routing.replicas[0].username=sa",
+		"employee.routing.replicas[0].password=",
+		"employee.cache.enabled=false",
+		"employee.suggest.enabled=false" })
+class RoutingDataSourceTest {
+
+	@Autowired
+	private EmployeeService service;
+
+	@Autowired
+	private ReplicaRoutingDataSource routingDataSource;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	private JdbcTemplate primary;
+	private JdbcTemplate replica;
+
+	// The two H2 databases are not replicated, a row's location tells which pool served the read
+	@BeforeEach
+	void setUp() {
+		primary = new JdbcTemplate((DataSource) routingDataSource.getTargets().get(ReplicaRoutingDataSource.PRIMARY));
+		replica = new JdbcTemplate((DataSource) routingDataSource.getTargets().get("replica-0"));
+		replica.execute("CREATE TABLE IF NOT EXISTS employee (id BIGINT PRIMARY KEY, name VARCHAR(255), "
+				+ "department VARCHAR(255), email VARCHAR(255), version BIGINT DEFAULT 0 NOT NULL, change_seq BIGINT DEFAULT 0 NOT NULL)");
+		replica.update("DELETE FROM employee");
+		replica.update("INSERT INTO employee (id, name, department, email) VALUES (1, 'Replica Only', 'Dept', 'replica@example.com')");
+		primary.update("DELETE FROM employee");
+	}
+
+	@Test
+	void reads_ShouldUseReplica_AndWrites_ShouldUsePrimary() throws Exception {
+		double replicaRoutes = routes("replica-0");
+		double primaryRoutes = routes(ReplicaRoutingDataSource.PRIMARY);
+
+		Long id = service.create(Employee.builder().name("Primary Only").department("Dept").email("primary@example.com").build())
+				.getData().getId();
+
+		assertEquals(1, primary.queryForObject("SELECT COUNT(*) FROM employee WHERE id = ?", Integer.class, id));
+		assertEquals(List.of("Replica Only"), names(service.getPage(null, 10).getData()));
+		assertTrue(routes(ReplicaRoutingDataSource.PRIMARY) > primaryRoutes);
+		assertTrue(routes("replica-0") > replicaRoutes);
+	}
+
+	@Test
+	void reads_ShouldStayOnPrimary_AfterWriteInSameRequest() throws Exception {
+		ReplicaRoutingDataSource.beginRequest();
+		try {
+			assertEquals(List.of("Replica Only"), names(service.getPage(null, 10).getData()));
+
+			service.create(Employee.builder().name("Primary Only").department("Dept").email("primary@example.com").build());
+
+			assertEquals(List.of("Primary Only"), names(service.getPage(null, 10).getData()));
+		} finally {
+			ReplicaRoutingDataSource.endRequest();
+		}
+
+		assertEquals(List.of("Replica Only"), names(service.getPage(null, 10).getData()));
+	}
+
+	private double routes(String target) {
+		return registry.get(ReplicaRoutingDataSource.ROUTES).tag("target", target).counter().count();
+	}
+
+	private static List<String> names(List<Employee> employees) {
+		return employees.stream().map(Employee::getName).toList();
+	}
+}
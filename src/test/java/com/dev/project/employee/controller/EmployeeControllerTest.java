@@ -1,16 +1,41 @@
 package com.dev.project.employee.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,13 +44,47 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.dev.project.employee.config.ContentNegotiationConfig;
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeIngestRejectedException;
+import com.dev.project.employee.exception.EmployeeNotFoundException;
+import com.dev.project.employee.exception.EmployeeSyncTokenExpiredException;
+import com.dev.project.employee.exception.EmployeeVersionConflictException;
+import com.dev.project.employee.metrics.EmployeeMetrics;
+import com.dev.project.employee.models.BatchItemResult;
 import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeChanges;
+import com.dev.project.employee.models.EmployeeListing;
+import com.dev.project.employee.models.EmployeeLookup;
+import com.dev.project.employee.models.EmployeeSummary;
+import com.dev.project.employee.models.EmployeePatch;
+import com.dev.project.employee.models.ImportJob;
+import com.dev.project.employee.models.ImportStatus;
+import com.dev.project.employee.models.IngestStatus;
+import com.dev.project.employee.models.IngestTicket;
+import com.dev.project.employee.models.LogDescription;
 import com.dev.project.employee.models.Response;
+import com.dev.project.employee.models.Status;
+import com.dev.project.employee.service.EmployeeChangeFeed;
+import com.dev.project.employee.service.EmployeeImportJobs;
+import com.dev.project.employee.service.EmployeeIngestQueue;
 import com.dev.project.employee.service.EmployeeService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
@@ -43,12 +102,60 @@ class EmployeeControllerTest {
     @Autowired
     private EmployeeService service;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmployeeIngestQueue ingestQueue;
+
+    @Autowired
+    private EmployeeChangeFeed changeFeed;
+
+    @Autowired
+    private EmployeeImportJobs importJobs;
+
     @TestConfiguration
     static class TestConfig {
         @Bean
         public EmployeeService employeeService() {
             return Mockito.mock(EmployeeService.class);
         }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        public EmployeeMetrics employeeMetrics(MeterRegistry meterRegistry) {
+            return new EmployeeMetrics(meterRegistry);
+        }
+
+        @Bean
+        public EmployeeIngestQueue employeeIngestQueue() {
+            return Mockito.mock(EmployeeIngestQueue.class);
+        }
+
+        @Bean
+        public EmployeeChangeFeed employeeChangeFeed() {
+            return Mockito.mock(EmployeeChangeFeed.class);
+        }
+
+        @Bean
+        public EmployeeImportJobs employeeImportJobs() {
+            return Mockito.mock(EmployeeImportJobs.class);
+        }
+
+        @Bean
+        public IdempotencyStore idempotencyStore(EmployeeProperties properties, MeterRegistry meterRegistry) {
+            return new IdempotencyStore(properties, meterRegistry);
+        }
+
+        // Backs the admission control filter, which the web slice picks up like any other filter
+        @Bean
+        public EmployeeProperties employeeProperties() {
+            return new EmployeeProperties();
+        }
     }
 
     private Employee employee;
@@ -57,6 +164,9 @@ class EmployeeControllerTest {
 
     @BeforeEach
     void setUp() {
+        // The service mock is a shared bean, only count calls made by the current test
+        Mockito.clearInvocations(service, ingestQueue, changeFeed, importJobs);
+
         employee = new Employee();
         employee.setId(1L);
         employee.setName("John Doe");
@@ -82,17 +192,398 @@ class EmployeeControllerTest {
     }
     
     
+    @Test
+    void testCreateAndUpdateEmployee_Return409_WhenEmailIsTaken() throws Exception {
+        // Matched on the email only, the service mock is shared and other tests stub create for any employee
+        doThrow(new DataIntegrityViolationException("ux_employee_email")).when(service)
+            .create(argThat(candidate -> candidate != null && "taken@example.com".equals(candidate.getEmail())));
+        doThrow(new DataIntegrityViolationException("ux_employee_email")).when(service).update(eq(409L), any(Employee.class));
+        employee.setEmail("taken@example.com");
+
+        mockMvc.perform(post("/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(LogDescription.EMPLOYEE_EMAIL_TAKEN.getLog()));
+
+        mockMvc.perform(put("/employees/409")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(LogDescription.EMPLOYEE_EMAIL_TAKEN.getLog()));
+    }
+
+    @Test
+    void testCreateEmployee_WithSameIdempotencyKey_InsertsOnce_UnderConcurrentRetries() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(service.create(any(Employee.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return employeeResponse;
+        });
+        String body = objectMapper.writeValueAsString(employee);
+
+        ExecutorService clients = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<MvcResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++)
+                results.add(clients.submit(() -> mockMvc.perform(post("/employees")
+                        .header(IdempotencyStore.HEADER, "create-concurrent")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)).andReturn()));
+            // Let every duplicate reach the store before the first create returns
+            Thread.sleep(200);
+            release.countDown();
+
+            int replays = 0;
+            for (Future<MvcResult> result : results) {
+                MvcResult response = result.get(10, TimeUnit.SECONDS);
+                assertEquals(201, response.getResponse().getStatus());
+                assertEquals(1, objectMapper.readTree(response.getResponse().getContentAsString()).at("/data/id").asLong());
+                if ("true".equals(response.getResponse().getHeader(IdempotencyStore.REPLAYED_HEADER)))
+                    replays++;
+            }
+            assertEquals(7, replays);
+        } finally {
+            clients.shutdownNow();
+        }
+
+        verify(service, Mockito.times(1)).create(any(Employee.class));
+        assertEquals(7, meterRegistry.get(IdempotencyStore.REQUESTS).tag("result", "replayed").counter().count(), 0.0);
+    }
+
+    @Test
+    void testUpdateEmployee_ReplaysResponse_AndRefusesKeyReusedWithAnotherBody() throws Exception {
+        when(service.update(eq(1L), any(Employee.class))).thenReturn(employeeResponse);
+
+        for (int i = 0; i < 2; i++)
+            mockMvc.perform(put("/employees/1")
+                    .header(IdempotencyStore.HEADER, "update-replay")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.name").value("John Doe"));
+
+        employee.setName("Jane Doe");
+        mockMvc.perform(put("/employees/1")
+                .header(IdempotencyStore.HEADER, "update-replay")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.message").value(LogDescription.IDEMPOTENCY_KEY_REUSED.getLog()));
+
+        verify(service, Mockito.times(1)).update(eq(1L), any(Employee.class));
+    }
+
+    @Test
+    void testCreateEmployees_ReturnsMultiStatus_WhenSomeItemsFail() throws Exception {
+        Response<List<BatchItemResult>> batchResponse = new Response<>();
+        batchResponse.setData(List.of(
+                BatchItemResult.builder().index(0).status(Status.SUCCESS).id(1L).build(),
+                BatchItemResult.builder().index(1).status(Status.FAILURE).errors(List.of("name: Name is required")).build()));
+
+        when(service.createAll(any())).thenReturn(batchResponse);
+
+        mockMvc.perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee, new Employee()))))
+            .andExpect(status().isMultiStatus())
+            .andExpect(jsonPath("$.data[0].id").value(1L))
+            .andExpect(jsonPath("$.data[1].errors[0]").value("name: Name is required"));
+    }
+
+    @Test
+    void testCreateEmployees_Return409_WhenAConcurrentWriteTakesAnEmail() throws Exception {
+        Employee late = Employee.builder().name("Late").department("IT").email("late@example.com").build();
+        doThrow(new DataIntegrityViolationException("ux_employee_email")).when(service)
+            .createAll(argThat(batch -> batch != null && !batch.isEmpty() && batch.get(0) != null
+                    && "late@example.com".equals(batch.get(0).getEmail())));
+
+        mockMvc.perform(post("/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(late))))
+            .andExpect(status().isConflict())
+            .andExpect(jsonPath("$.message").value(LogDescription.EMPLOYEE_EMAIL_TAKEN.getLog()));
+    }
+
+    @Test
+    void testIngestEmployees_ReturnsAcceptedWithTicketLocation() throws Exception {
+        IngestTicket ticket = IngestTicket.builder().id("t-1").status(IngestStatus.PENDING).accepted(2).failed(1)
+                .errors(List.of("1: " + LogDescription.INGEST_EMAIL_REQUIRED.getLog())).build();
+        when(ingestQueue.submit(any())).thenReturn(ticket);
+        when(service.buildSuccessResponse(any(), any(), any(Object[].class))).thenCallRealMethod();
+
+        mockMvc.perform(post("/employees/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee, new Employee()))))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/employees/ingest/t-1"))
+            .andExpect(jsonPath("$.message").value(LogDescription.INGEST_ACCEPTED.getLog().formatted(1, 2)))
+            .andExpect(jsonPath("$.data.status").value("PENDING"))
+            .andExpect(jsonPath("$.data.errors[0]").value("1: " + LogDescription.INGEST_EMAIL_REQUIRED.getLog()));
+
+        // Nothing is written on the request thread
+        verify(service, never()).create(any());
+        verify(service, never()).createAll(any());
+    }
+
+    @Test
+    void testIngestEmployees_Returns503WithRetryAfter_WhenQueueIsFull() throws Exception {
+        when(ingestQueue.submit(any())).thenThrow(
+                new EmployeeIngestRejectedException(LogDescription.INGEST_QUEUE_FULL.getLog().formatted(2), 2));
+
+        mockMvc.perform(post("/employees/ingest")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee))))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+            .andExpect(jsonPath("$.status").value("FAILURE"))
+            .andExpect(jsonPath("$.message").value(LogDescription.INGEST_QUEUE_FULL.getLog().formatted(2)));
+    }
+
+    @Test
+    void testGetIngestStatus_ReturnsTicket_Or404() throws Exception {
+        IngestTicket ticket = IngestTicket.builder().id("t-1").status(IngestStatus.COMPLETED).accepted(2).processed(1)
+                .coalesced(1).build();
+        when(ingestQueue.status("t-1")).thenReturn(Optional.of(ticket));
+        when(ingestQueue.status("missing")).thenReturn(Optional.empty());
+        when(service.buildSuccessResponse(any(), any(), any(Object[].class))).thenCallRealMethod();
+
+        mockMvc.perform(get("/employees/ingest/t-1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.status").value("COMPLETED"))
+            .andExpect(jsonPath("$.data.processed").value(1))
+            .andExpect(jsonPath("$.data.coalesced").value(1))
+            .andExpect(jsonPath("$.data.errors").doesNotExist());
+
+        mockMvc.perform(get("/employees/ingest/missing"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value(LogDescription.INGEST_TICKET_NOT_FOUND.getLog()));
+    }
+
+    @Test
+    void testImportEmployees_ReturnsAcceptedWithJobLocation() throws Exception {
+        ImportJob job = ImportJob.builder().id("j-1").status(ImportStatus.QUEUED).build();
+        when(importJobs.start(any())).thenAnswer(invocation -> {
+            // The upload is handed over as a file of its own, the job owns it from here
+            Path csv = invocation.getArgument(0);
+            assertEquals("name,department,email\nSheldon,Physics,sheldon@gmail.com\n", Files.readString(csv));
+            Files.delete(csv);
+            return job;
+        });
+        when(service.buildSuccessResponse(any(), any(), any(Object[].class))).thenCallRealMethod();
+
+        mockMvc.perform(multipart("/employees/import").file(new MockMultipartFile("file", "employees.csv", "text/csv",
+                "name,department,email\nSheldon,Physics,sheldon@gmail.com\n".getBytes())))
+            .andExpect(status().isAccepted())
+            .andExpect(header().string(HttpHeaders.LOCATION, "/employees/import/j-1"))
+            .andExpect(jsonPath("$.message").value(LogDescription.IMPORT_ACCEPTED.getLog().formatted("j-1")))
+            .andExpect(jsonPath("$.data.status").value("QUEUED"));
+    }
+
+    @Test
+    void testImportEmployees_Returns400_WithoutAFile() throws Exception {
+        doCallRealMethod().when(service).buildErrorResponse(any(), any());
+
+        mockMvc.perform(multipart("/employees/import"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value("FAILURE"));
+
+        verify(importJobs, never()).start(any());
+    }
+
+    @Test
+    void testImportStatusAndCancel_ReturnJob_Or404() throws Exception {
+        ImportJob running = ImportJob.builder().id("j-1").status(ImportStatus.RUNNING).progress(40).rowsRead(4000)
+                .imported(3998).failed(2).errors(List.of("17: email: Email should be valid")).build();
+        when(importJobs.status("j-1")).thenReturn(Optional.of(running));
+        when(importJobs.cancel("j-1")).thenReturn(Optional.of(running));
+        when(importJobs.status("missing")).thenReturn(Optional.empty());
+        when(importJobs.cancel("missing")).thenReturn(Optional.empty());
+        when(service.buildSuccessResponse(any(), any(), any(Object[].class))).thenCallRealMethod();
+
+        mockMvc.perform(get("/employees/import/j-1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.progress").value(40))
+            .andExpect(jsonPath("$.data.imported").value(3998))
+            .andExpect(jsonPath("$.data.errors[0]").value("17: email: Email should be valid"));
+        mockMvc.perform(delete("/employees/import/j-1"))
+            .andExpect(status().isAccepted())
+            .andExpect(jsonPath("$.data.status").value("RUNNING"));
+
+        mockMvc.perform(get("/employees/import/missing"))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value(LogDescription.IMPORT_JOB_NOT_FOUND.getLog()));
+        mockMvc.perform(delete("/employees/import/missing"))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     void testGetAllEmployees() throws Exception {
         List<Employee> employeeList = List.of(employee);
         Response<List<Employee>> listResponse = new Response<>();
         listResponse.setData(employeeList);
 
-        when(service.getAll()).thenReturn(listResponse);
+        when(service.list(null, null, null, null, null, null)).thenReturn(new EmployeeListing("\"7\"", listResponse));
 
         mockMvc.perform(get("/employees"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$.data[0].name").value("John Doe"));
+            .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+            .andExpect(jsonPath("$.data[0].name").value("John Doe"))
+            .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testGetEmployeesPage_ReturnsNextCursor() throws Exception {
+        Response<List<Employee>> pageResponse = new Response<>();
+        pageResponse.setData(List.of(employee));
+        pageResponse.setNextCursor("MQ");
+
+        when(service.list(null, null, null, "MA", 1, null)).thenReturn(new EmployeeListing("\"7\"", pageResponse));
+
+        mockMvc.perform(get("/employees").param("after", "MA").param("limit", "1"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data", hasSize(1)))
+            .andExpect(jsonPath("$.nextCursor").value("MQ"));
+    }
+
+    @Test
+    void testGetEmployees_WithFilter_ReturnsSummaries() throws Exception {
+        Response<List<EmployeeSummary>> searchResponse = new Response<>();
+        searchResponse.setData(List.of(new EmployeeSummary(1L, "John Doe", "IT", "john.doe@example.com")));
+
+        when(service.list("IT", null, null, null, null, null)).thenReturn(new EmployeeListing("\"7\"", searchResponse));
+
+        mockMvc.perform(get("/employees").param("department", "IT"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].name").value("John Doe"))
+            .andExpect(jsonPath("$.data[0].version").doesNotExist());
+    }
+
+    @Test
+    void testSuggestEmployees_ReturnsMatches() throws Exception {
+        Response<List<EmployeeSummary>> suggestResponse = new Response<>();
+        suggestResponse.setData(List.of(new EmployeeSummary(1L, "John Doe", "IT", "john.doe@example.com")));
+
+        when(service.suggest("jo", 5)).thenReturn(suggestResponse);
+
+        mockMvc.perform(get("/employees/suggest").param("q", "jo").param("limit", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data[0].id").value(1))
+            .andExpect(jsonPath("$.data[0].email").value("john.doe@example.com"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportEmployees_WritesNdjson() throws Exception {
+        Employee second = Employee.builder().id(2L).name("Jane Roe").department("IT").email("jane@example.com").build();
+
+        doAnswer(invocation -> {
+            Consumer<Employee> sink = invocation.getArgument(0);
+            sink.accept(employee);
+            sink.accept(second);
+            return 2L;
+        }).when(service).exportAll(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/employees/export"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andExpect(content().string(objectMapper.writeValueAsString(employee) + "\n"
+                    + objectMapper.writeValueAsString(second) + "\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportEmployees_WritesCborSequence() throws Exception {
+        Employee second = Employee.builder().id(2L).name("Jane Roe").department("IT").email("jane@example.com").build();
+
+        doAnswer(invocation -> {
+            Consumer<Employee> sink = invocation.getArgument(0);
+            sink.accept(employee);
+            sink.accept(second);
+            return 2L;
+        }).when(service).exportAll(any(Consumer.class));
+
+        MvcResult result = mockMvc.perform(get("/employees/export").accept(ContentNegotiationConfig.APPLICATION_CBOR_SEQ))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(ContentNegotiationConfig.APPLICATION_CBOR_SEQ))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        try (MappingIterator<Employee> items = new CBORMapper().readerFor(Employee.class).readValues(body)) {
+            assertEquals(List.of(employee, second), items.readAll());
+        }
+    }
+
+    @Test
+    void testGetEmployeeById_NegotiatesCbor_KeepingJsonPropertyOrderAndInclusion() throws Exception {
+        when(service.getById(1L)).thenReturn(employeeResponse);
+
+        byte[] json = mockMvc.perform(get("/employees/1"))
+            .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+            .andReturn().getResponse().getContentAsByteArray();
+        byte[] cbor = mockMvc.perform(get("/employees/1").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode fromJson = objectMapper.readTree(json).get("data");
+        JsonNode fromCbor = new CBORMapper().readTree(cbor).get("data");
+        // Same document, same field order, nulls such as the version left out
+        assertEquals(fromJson, fromCbor);
+        assertEquals(List.of("name", "email", "department", "id"), fieldNames(fromCbor));
+        assertTrue(cbor.length < json.length);
+    }
+
+    @Test
+    void testCreateEmployee_AcceptsAndReturnsSmile() throws Exception {
+        when(service.create(any(Employee.class))).thenReturn(employeeResponse);
+        SmileMapper smile = new SmileMapper();
+
+        byte[] body = mockMvc.perform(post("/employees")
+                .contentType(ContentNegotiationConfig.APPLICATION_SMILE)
+                .accept(ContentNegotiationConfig.APPLICATION_SMILE)
+                .content(smile.writeValueAsBytes(employee)))
+            .andExpect(status().isCreated())
+            .andExpect(content().contentType(ContentNegotiationConfig.APPLICATION_SMILE))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        verify(service).create(employee);
+        JsonNode data = smile.readTree(body).get("data");
+        assertEquals("John Doe", data.get("name").asText());
+        assertEquals(List.of("name", "email", "department", "id"), fieldNames(data));
+    }
+
+    @Test
+    void testGetEmployeeById_Returns404Envelope_InTheNegotiatedFormat() throws Exception {
+        // doThrow, another test may already have stubbed this id to throw
+        doThrow(new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog())).when(service).getById(404L);
+
+        byte[] body = mockMvc.perform(get("/employees/404").accept(MediaType.APPLICATION_CBOR))
+            .andExpect(status().isNotFound())
+            .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(LogDescription.EMPLOYEE_NOT_FOUND.getLog(), new CBORMapper().readTree(body).get("message").asText());
+    }
+
+    @Test
+    void testStreamChanges_OpensEventStream_ResumingFromLastEventId() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(changeFeed.subscribe("18c2f-41")).thenReturn(emitter);
+
+        mockMvc.perform(get("/employees/stream").header("Last-Event-ID", "18c2f-41"))
+            .andExpect(request().asyncStarted())
+            .andExpect(status().isOk());
+
+        verify(changeFeed).subscribe("18c2f-41");
+        emitter.complete();
     }
 
     @Test
@@ -104,6 +595,124 @@ class EmployeeControllerTest {
             .andExpect(jsonPath("$.data.name").value("John Doe"));
     }
 
+    @Test
+    void testGetEmployeeById_Returns404Envelope_ForMissingEmployee() throws Exception {
+        when(service.getById(404L)).thenThrow(new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog()));
+
+        for (int i = 0; i < 2; i++)
+            mockMvc.perform(get("/employees/404"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value("FAILURE"))
+                .andExpect(jsonPath("$.message").value(LogDescription.EMPLOYEE_NOT_FOUND.getLog()));
+
+        // Answered by the advice, the generic 400 path and its ERROR log are never reached
+        verify(service, never()).buildErrorResponse(any(), any());
+        assertEquals(2.0, meterRegistry.get(EmployeeMetrics.FAILURES)
+                .tag("path", LogDescription.EMPLOYEE_NOT_FOUND.name())
+                .tag("exception", "EmployeeNotFoundException")
+                .counter().count());
+    }
+
+    @Test
+    void testUpdateEmployee_Returns404_ForMissingEmployee() throws Exception {
+        when(service.update(eq(404L), any(Employee.class)))
+            .thenThrow(new EmployeeNotFoundException(LogDescription.EMPLOYEE_NOT_FOUND.getLog()));
+
+        mockMvc.perform(put("/employees/404")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+            .andExpect(status().isNotFound())
+            .andExpect(jsonPath("$.message").value(LogDescription.EMPLOYEE_NOT_FOUND.getLog()));
+    }
+
+    @Test
+    void testLookupEmployees_ReturnsFoundInRequestOrder_AndMissingIds() throws Exception {
+        EmployeeLookup lookup = EmployeeLookup.builder()
+            .employees(List.of(new Employee(3L, "Jane", "IT", "jane@example.com", 1L), employee))
+            .missing(List.of(9L))
+            .build();
+        doReturn(Response.<EmployeeLookup>builder().status(Status.SUCCESS).data(lookup).build())
+            .when(service).lookup(List.of(3L, 9L, 1L));
+
+        mockMvc.perform(post("/employees/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[3,9,1]"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.employees[0].id").value(3))
+            .andExpect(jsonPath("$.data.employees[1].id").value(1))
+            .andExpect(jsonPath("$.data.missing[0]").value(9));
+    }
+
+    @Test
+    void testLookupEmployees_Returns400_ForTooManyIds() throws Exception {
+        doThrow(new IllegalArgumentException(LogDescription.LOOKUP_TOO_MANY_IDS.getLog().formatted(1000)))
+            .when(service).lookup(any());
+        doCallRealMethod().when(service).buildErrorResponse(any(), any());
+
+        mockMvc.perform(post("/employees/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[1,2]"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.status").value("FAILURE"));
+    }
+
+    @Test
+    void testGetEmployeeById_CountsFailure_ByPathAndExceptionType() throws Exception {
+        when(service.getById(2L)).thenThrow(new IllegalStateException("boom"));
+        doCallRealMethod().when(service).buildErrorResponse(any(), any());
+
+        mockMvc.perform(get("/employees/2"))
+            .andExpect(status().isBadRequest());
+
+        assertEquals(1.0, meterRegistry.get(EmployeeMetrics.FAILURES)
+                .tag("path", LogDescription.EXCEPTION_OCCURRED_WHILE_RETRIEVING_EMPLOYEE.name())
+                .tag("exception", "IllegalStateException")
+                .counter().count());
+    }
+
+    @Test
+    void testGetEmployeeById_ReturnsVersionETag() throws Exception {
+        employee.setVersion(3L);
+        when(service.getById(1L)).thenReturn(employeeResponse);
+
+        mockMvc.perform(get("/employees/1"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void testGetEmployeeById_ReturnsNotModified_WithoutLoadingEmployee() throws Exception {
+        when(service.findVersion(1L)).thenReturn(Optional.of(3L));
+
+        mockMvc.perform(get("/employees/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+            .andExpect(content().string(""));
+
+        verify(service, never()).getById(1L);
+    }
+
+    @Test
+    void testGetEmployeeById_ReturnsBody_WhenVersionChanged() throws Exception {
+        employee.setVersion(4L);
+        when(service.findVersion(1L)).thenReturn(Optional.of(4L));
+        when(service.getById(1L)).thenReturn(employeeResponse);
+
+        mockMvc.perform(get("/employees/1").header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+            .andExpect(jsonPath("$.data.name").value("John Doe"));
+    }
+
+    @Test
+    void testGetAllEmployees_ReturnsNotModified_WhenCollectionUnchanged() throws Exception {
+        when(service.list(null, null, null, null, null, "\"7\"")).thenReturn(new EmployeeListing("\"7\"", null));
+
+        mockMvc.perform(get("/employees").header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"7\""));
+    }
+
     @Test
     void testUpdateEmployee() throws Exception {
         when(service.update(eq(1L), any(Employee.class))).thenReturn(employeeResponse);
@@ -115,6 +724,96 @@ class EmployeeControllerTest {
             .andExpect(jsonPath("$.data.name").value("John Doe"));
     }
 
+    @Test
+    void testPatchEmployee_ReturnsNewVersionAsETag() throws Exception {
+        EmployeePatch patch = EmployeePatch.builder().department("Finance").build();
+        Response<Employee> patched = new Response<>();
+        patched.setData(Employee.builder().id(1L).version(4L).build());
+
+        when(service.patch(1L, 3L, patch)).thenReturn(patched);
+
+        mockMvc.perform(patch("/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+            .andExpect(jsonPath("$.data.version").value(4));
+    }
+
+    @Test
+    void testPatchEmployee_RequiresIfMatch() throws Exception {
+        mockMvc.perform(patch("/employees/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Jane\"}"))
+            .andExpect(status().isPreconditionRequired())
+            .andExpect(jsonPath("$.status").value("FAILURE"));
+    }
+
+    @Test
+    void testPatchEmployee_ReturnsPreconditionFailed_OnStaleVersion() throws Exception {
+        when(service.patch(eq(1L), eq(2L), any(EmployeePatch.class)))
+            .thenThrow(new EmployeeVersionConflictException("Employee was modified by another request"));
+
+        mockMvc.perform(patch("/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"2\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Jane\"}"))
+            .andExpect(status().isPreconditionFailed())
+            .andExpect(jsonPath("$.status").value("FAILURE"));
+    }
+
+    @Test
+    void testPatchEmployee_ReturnsNotFound_ForMissingEmployee() throws Exception {
+        when(service.patch(eq(9L), eq(1L), any(EmployeePatch.class)))
+            .thenThrow(new EmployeeNotFoundException("Employee not found"));
+
+        mockMvc.perform(patch("/employees/9")
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Jane\"}"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testGetChanges_ReturnsPageWithToken() throws Exception {
+        EmployeeChanges changes = EmployeeChanges.builder()
+            .changed(List.of(new Employee(1L, "John Doe", "IT", "john.doe@example.com", 2L)))
+            .deleted(List.of(7L))
+            .token("next")
+            .hasMore(false)
+            .build();
+        when(service.changes("prev", 50)).thenReturn(Response.<EmployeeChanges>builder().status(Status.SUCCESS).data(changes).build());
+
+        mockMvc.perform(get("/employees/changes").param("since", "prev").param("limit", "50"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.changed[0].id").value(1))
+            .andExpect(jsonPath("$.data.changed[0].changeSeq").doesNotExist())
+            .andExpect(jsonPath("$.data.deleted[0]").value(7))
+            .andExpect(jsonPath("$.data.token").value("next"))
+            .andExpect(jsonPath("$.data.hasMore").value(false));
+    }
+
+    @Test
+    void testGetChanges_ReturnsGone_ForExpiredToken() throws Exception {
+        when(service.changes("old", null))
+            .thenThrow(new EmployeeSyncTokenExpiredException(LogDescription.SYNC_TOKEN_EXPIRED.getLog()));
+
+        mockMvc.perform(get("/employees/changes").param("since", "old"))
+            .andExpect(status().isGone())
+            .andExpect(jsonPath("$.message").value(LogDescription.SYNC_TOKEN_EXPIRED.getLog()));
+    }
+
+    @Test
+    void testPatchEmployee_RejectsBlankName() throws Exception {
+        mockMvc.perform(patch("/employees/1")
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"  \"}"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.data[0]", containsString("Name is required")));
+    }
+
     @Test
     void testDeleteEmployee() throws Exception {
         Response<Void> voidResponse = new Response<>();
@@ -124,6 +823,38 @@ class EmployeeControllerTest {
             .andExpect(status().isOk());
     }
     
+    @Test
+    void testDeleteEmployee_ReturnsNotFound_WhenNothingWasDeleted() throws Exception {
+        when(service.delete(404L)).thenThrow(new EmployeeNotFoundException("Employee not found"));
+
+        mockMvc.perform(delete("/employees/404"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testDeleteEmployees_ByIds_ReportsDeletedCount() throws Exception {
+        Response<Integer> countResponse = new Response<>();
+        countResponse.setData(2);
+
+        when(service.deleteAll(List.of(1L, 2L, 3L), null)).thenReturn(countResponse);
+
+        mockMvc.perform(delete("/employees").param("ids", "1,2,3"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data").value(2));
+    }
+
+    @Test
+    void testDeleteEmployees_ByDepartment_ReportsDeletedCount() throws Exception {
+        Response<Integer> countResponse = new Response<>();
+        countResponse.setData(4);
+
+        when(service.deleteAll(null, "HR")).thenReturn(countResponse);
+
+        mockMvc.perform(delete("/employees").param("department", "HR"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data").value(4));
+    }
+
     @Test
     void givenInvalidEmployee_whenPost_thenReturnsValidationError() throws Exception {
         
@@ -143,4 +874,10 @@ class EmployeeControllerTest {
                 .andExpect(jsonPath("$.data[2]", containsString("Department is required")))
                 ;
     }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
 }
@@ -0,0 +1,152 @@
+package com.dev.project.employee.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeIdempotencyKeyInProgressException;
+import com.dev.project.employee.exception.EmployeeIdempotencyKeyReusedException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class IdempotencyStoreTest {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final EmployeeProperties properties = new EmployeeProperties();
+
+	@Test
+	void execute_ShouldReplayStoredResponse_ForTheSameKeyAndRequest() {
+		IdempotencyStore store = new IdempotencyStore(properties, registry);
+		AtomicInteger runs = new AtomicInteger();
+
+		ResponseEntity<String> first = store.execute("k1", List.of("POST", "Sheldon"),
+				() -> ResponseEntity.status(HttpStatus.CREATED).body("created " + runs.incrementAndGet()));
+		ResponseEntity<String> retry = store.execute("k1", List.of("POST", "Sheldon"),
+				() -> ResponseEntity.status(HttpStatus.CREATED).body("created " + runs.incrementAndGet()));
+
+		assertEquals(1, runs.get());
+		assertEquals(HttpStatus.CREATED, retry.getStatusCode());
+		assertEquals("created 1", retry.getBody());
+		assertNull(first.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		assertEquals("true", retry.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+		assertEquals(1, registry.get(IdempotencyStore.REQUESTS).tag("result", "replayed").counter().count());
+	}
+
+	@Test
+	void execute_ShouldRefuseKey_ReusedForADifferentRequest() {
+		IdempotencyStore store = new IdempotencyStore(properties, registry);
+		store.execute("k1", List.of("POST", "Sheldon"), () -> ResponseEntity.ok("created"));
+
+		assertThrows(EmployeeIdempotencyKeyReusedException.class,
+				() -> store.execute("k1", List.of("POST", "Penny"), () -> ResponseEntity.ok("created")));
+		assertEquals(1, registry.get(IdempotencyStore.REQUESTS).tag("result", "reused").counter().count());
+	}
+
+	@Test
+	void execute_ShouldRunAgain_AfterAFailedFirstAttempt() {
+		IdempotencyStore store = new IdempotencyStore(properties, registry);
+
+		assertThrows(IllegalStateException.class, () -> store.execute("k1", "request", () -> {
+			throw new IllegalStateException("database down");
+		}));
+		store.execute("k1", "request", () -> ResponseEntity.badRequest().body("rejected"));
+		ResponseEntity<String> third = store.execute("k1", "request", () -> ResponseEntity.ok("created"));
+
+		assertEquals("created", third.getBody());
+		assertEquals(3, registry.get(IdempotencyStore.REQUESTS).tag("result", "executed").counter().count());
+	}
+
+	@Test
+	void execute_ShouldMakeDuplicatesWait_ForTheFirstRequest() throws Exception {
+		IdempotencyStore store = new IdempotencyStore(properties, registry);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger runs = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			Future<ResponseEntity<Integer>> first = executor.submit(() -> store.execute("k1", "request", () -> {
+				running.countDown();
+				await(release);
+				return ResponseEntity.ok(runs.incrementAndGet());
+			}));
+			running.await();
+
+			List<Future<ResponseEntity<Integer>>> duplicates = new ArrayList<>();
+			for (int i = 0; i < 7; i++)
+				duplicates.add(executor.submit(() -> store.execute("k1", "request",
+						() -> ResponseEntity.ok(runs.incrementAndGet()))));
+			release.countDown();
+
+			ResponseEntity<Integer> original = first.get(5, TimeUnit.SECONDS);
+			for (Future<ResponseEntity<Integer>> duplicate : duplicates)
+				assertEquals(original.getBody(), duplicate.get(5, TimeUnit.SECONDS).getBody());
+			assertEquals(1, runs.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void execute_ShouldGiveUpWaiting_AfterTheWaitTimeout() throws Exception {
+		properties.getIdempotency().setWaitTimeout(Duration.ofMillis(50));
+		IdempotencyStore store = new IdempotencyStore(properties, registry);
+		CountDownLatch running = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread first = new Thread(() -> store.execute("k1", "request", () -> {
+			running.countDown();
+			await(release);
+			return ResponseEntity.ok("created");
+		}));
+		first.start();
+		running.await();
+
+		assertThrows(EmployeeIdempotencyKeyInProgressException.class,
+				() -> store.execute("k1", "request", () -> ResponseEntity.ok("duplicate")));
+		assertEquals(1, registry.get(IdempotencyStore.REQUESTS).tag("result", "in_progress").counter().count());
+
+		release.countDown();
+		first.join();
+	}
+
+	@Test
+	void execute_ShouldAlwaysRun_WithoutKeyOrWhenDisabled() {
+		AtomicInteger runs = new AtomicInteger();
+		IdempotencyStore store = new IdempotencyStore(properties, registry);
+		store.execute(null, "request", () -> ResponseEntity.ok(runs.incrementAndGet()));
+		store.execute(null, "request", () -> ResponseEntity.ok(runs.incrementAndGet()));
+
+		properties.getIdempotency().setEnabled(false);
+		IdempotencyStore disabled = new IdempotencyStore(properties, new SimpleMeterRegistry());
+		disabled.execute("k1", "request", () -> ResponseEntity.ok(runs.incrementAndGet()));
+		disabled.execute("k1", "request", () -> ResponseEntity.ok(runs.incrementAndGet()));
+
+		assertEquals(4, runs.get());
+		assertThrows(IllegalArgumentException.class, () -> store.execute(" ", "request", () -> ResponseEntity.ok(0)));
+		assertThrows(IllegalArgumentException.class,
+				() -> store.execute("k".repeat(256), "request", () -> ResponseEntity.ok(0)));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
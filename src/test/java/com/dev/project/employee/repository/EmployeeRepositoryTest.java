@@ -0,0 +1,398 @@
+package com.dev.project.employee.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeSummary;
+import com.dev.project.employee.models.EmployeeTombstone;
+
+@DataJpaTest(properties = { "spring.jpa.show-sql=false", "spring.jpa.properties.hibernate.generate_statistics=true",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector=com.dev.project.employee.repository.EmployeeRepositoryTest$LastQuery" })
+class EmployeeRepositoryTest {
+
+	private static final int ROWS = 100_000;
+	private static final int PAGE = 50;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	// Emails are unique across the table, so every generated employee gets its own
+	private int emailSequence;
+
+	private void seedEmployees() {
+		entityManager.getEntityManager()
+				.createNativeQuery("INSERT INTO employee (id, name, department, email) "
+						+ "SELECT X, 'Employee ' || X, 'Dept ' || MOD(X, 10), 'employee' || X || '@example.com' "
+						+ "FROM SYSTEM_RANGE(1, " + ROWS + ")")
+				.executeUpdate();
+	}
+
+	@Test
+	void findByIdGreaterThan_ShouldReturnOrderedPage_AfterCursor() {
+		seedEmployees();
+
+		List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(1_000L, Limit.of(PAGE));
+
+		assertEquals(PAGE, page.size());
+		assertEquals(1_001L, page.get(0).getId());
+		assertEquals(1_000L + PAGE, page.get(PAGE - 1).getId());
+	}
+
+	@Test
+	void findByIdGreaterThan_ShouldKeepLatencyFlat_DeepIntoTable() {
+		seedEmployees();
+
+		// Warm up statement cache and JIT before measuring
+		for (int i = 0; i < 50; i++) {
+			employeeRepository.findByIdGreaterThanOrderByIdAsc((long) i, Limit.of(PAGE));
+			employeeRepository.findByIdGreaterThanOrderByIdAsc((long) ROWS - PAGE - i, Limit.of(PAGE));
+			entityManager.clear();
+		}
+
+		long shallow = medianNanos(0L);
+		long deep = medianNanos((long) ROWS - PAGE);
+
+		// An OFFSET scan would be orders of magnitude slower at this depth
+		assertTrue(deep < shallow * 5 + 2_000_000,
+				"deep page took " + deep + "ns, first page took " + shallow + "ns");
+	}
+
+	@Test
+	void streamAll_ShouldVisitEveryRow_WithBoundedPersistenceContext() {
+		seedEmployees();
+		int clearInterval = 1_000;
+		long count = 0;
+		long lastId = 0;
+		int maxManaged = 0;
+		Session session = entityManager.getEntityManager().unwrap(Session.class);
+
+		try (Stream<Employee> employees = employeeRepository.streamAll(500)) {
+			Iterator<Employee> iterator = employees.iterator();
+			while (iterator.hasNext()) {
+				Employee employee = iterator.next();
+				assertTrue(employee.getId() > lastId);
+				lastId = employee.getId();
+				maxManaged = Math.max(maxManaged, session.getStatistics().getEntityCount());
+				if (++count % clearInterval == 0)
+					employeeRepository.clearPersistenceContext();
+			}
+		}
+
+		assertEquals(ROWS, count);
+		assertTrue(maxManaged <= clearInterval, "session held " + maxManaged + " entities");
+	}
+
+	@Test
+	void saveAll_ShouldBatchInserts_IntoFewStatements() {
+		int rows = 500;
+		Session session = entityManager.getEntityManager().unwrap(Session.class);
+		Statistics statistics = session.getSessionFactory().getStatistics();
+
+		statistics.clear();
+		session.setJdbcBatchSize(1);
+		employeeRepository.saveAll(newEmployees(rows));
+		employeeRepository.flush();
+		long perRow = statistics.getPrepareStatementCount();
+
+		statistics.clear();
+		session.setJdbcBatchSize(null);
+		employeeRepository.saveAll(newEmployees(rows));
+		employeeRepository.flush();
+		long batched = statistics.getPrepareStatementCount();
+
+		assertTrue(perRow >= rows, "per-row inserts prepared " + perRow + " statements");
+		// 500 rows / batch of 50 plus one sequence call per 50 ids
+		assertTrue(batched <= 2 * (rows / 50) + 2, "batched inserts prepared " + batched + " statements");
+	}
+
+	@Test
+	void patch_ShouldUpdateInOneStatement_AndBumpVersion() {
+		Employee saved = employeeRepository.saveAndFlush(newEmployees(1).get(0));
+		entityManager.clear();
+		Statistics statistics = entityManager.getEntityManager().unwrap(Session.class).getSessionFactory().getStatistics();
+		statistics.clear();
+
+		int updated = employeeRepository.patch(saved.getId(), saved.getVersion(), null, "Finance", null, 5L);
+
+		assertEquals(1, updated);
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		Employee reloaded = employeeRepository.findById(saved.getId()).orElseThrow();
+		assertEquals("Finance", reloaded.getDepartment());
+		assertEquals(saved.getName(), reloaded.getName());
+		assertEquals(saved.getVersion() + 1, reloaded.getVersion());
+		assertEquals(5L, reloaded.getChangeSeq());
+	}
+
+	@Test
+	void patch_ShouldUpdateNothing_WhenVersionIsStale() {
+		Employee saved = employeeRepository.saveAndFlush(newEmployees(1).get(0));
+		entityManager.clear();
+
+		assertEquals(1, employeeRepository.patch(saved.getId(), saved.getVersion(), "First", null, null, 1L));
+		assertEquals(0, employeeRepository.patch(saved.getId(), saved.getVersion(), "Second", null, null, 2L));
+
+		entityManager.clear();
+		assertEquals("First", employeeRepository.findById(saved.getId()).orElseThrow().getName());
+	}
+
+	@Test
+	void findAndSave_ShouldNeedMoreStatementsThanPatch() {
+		Employee saved = employeeRepository.saveAndFlush(newEmployees(1).get(0));
+		entityManager.clear();
+		Statistics statistics = entityManager.getEntityManager().unwrap(Session.class).getSessionFactory().getStatistics();
+		statistics.clear();
+
+		// The read-modify-write path update() uses for PUT
+		Employee existing = employeeRepository.findById(saved.getId()).orElseThrow();
+		existing.setDepartment("Finance");
+		employeeRepository.saveAndFlush(existing);
+
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void deleteRowById_ShouldDeleteInOneStatement_AndReportCount() {
+		Employee saved = employeeRepository.saveAndFlush(newEmployees(1).get(0));
+		entityManager.clear();
+		Statistics statistics = entityManager.getEntityManager().unwrap(Session.class).getSessionFactory().getStatistics();
+		statistics.clear();
+
+		assertEquals(1, employeeRepository.deleteRowById(saved.getId()));
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, employeeRepository.deleteRowById(saved.getId()));
+	}
+
+	@Test
+	void deleteRowsTombstonedAt_ShouldDeleteExactlyTheTombstonedSet_AndReportCount() {
+		List<Employee> saved = employeeRepository.saveAllAndFlush(newEmployees(20));
+		entityManager.clear();
+		Statistics statistics = entityManager.getEntityManager().unwrap(Session.class).getSessionFactory().getStatistics();
+		statistics.clear();
+
+		Instant now = Instant.now();
+		List<Long> ids = List.of(saved.get(0).getId(), saved.get(1).getId(), -1L);
+		assertEquals(2, tombstoneRepository.recordByIdIn(ids, 1L, now));
+		assertEquals(List.of(saved.get(0).getId(), saved.get(1).getId()),
+				tombstoneRepository.findEmployeeIdsByChangeSeq(1L).stream().sorted().toList());
+		assertEquals(2, employeeRepository.deleteRowsTombstonedAt(1L));
+		assertEquals(18, tombstoneRepository.recordByDepartment("Dept", 2L, now));
+		assertEquals(18, employeeRepository.deleteRowsTombstonedAt(2L));
+		// Two statements per bulk delete, whatever the number of rows, plus the read back of the deleted ids
+		assertEquals(5, statistics.getPrepareStatementCount());
+		assertEquals(0, employeeRepository.count());
+		assertEquals(20, tombstoneRepository.count());
+	}
+
+	@Test
+	void findChangedAfter_ShouldPageOnChangeSeqAndId_UpToTheWatermark() {
+		List<Employee> saved = employeeRepository.saveAllAndFlush(newEmployees(5));
+		long[] changeSeqs = { 3, 1, 3, 2, 4 };
+		for (int i = 0; i < saved.size(); i++)
+			saved.get(i).setChangeSeq(changeSeqs[i]);
+		employeeRepository.saveAllAndFlush(saved);
+		entityManager.clear();
+
+		List<Employee> first = employeeRepository.findChangedAfter(0L, 0L, 3L, Limit.of(2));
+		Employee last = first.get(1);
+		List<Employee> second = employeeRepository.findChangedAfter(last.getChangeSeq(), last.getId(), 3L, Limit.of(2));
+
+		assertEquals(List.of(saved.get(1).getId(), saved.get(3).getId()), first.stream().map(Employee::getId).toList());
+		// Two rows share change_seq 3, the id breaks the tie, 4 is above the watermark
+		assertEquals(List.of(saved.get(0).getId(), saved.get(2).getId()), second.stream().map(Employee::getId).toList());
+		assertLastQueryUsesIndex("IDX_EMPLOYEE_CHANGE_SEQ_ID", last.getChangeSeq(), last.getChangeSeq(), last.getId(), 3L, 2);
+	}
+
+	@Test
+	void findDeletedAfter_ShouldPageOnChangeSeqAndId_AndPurgeByAge() {
+		Instant now = Instant.now();
+		tombstoneRepository.saveAllAndFlush(List.of(new EmployeeTombstone(10L, 1L, now.minusSeconds(3600)),
+				new EmployeeTombstone(11L, 2L, now), new EmployeeTombstone(12L, 2L, now), new EmployeeTombstone(13L, 5L, now)));
+		entityManager.clear();
+
+		List<EmployeeTombstone> page = tombstoneRepository.findDeletedAfter(2L, 11L, 4L, Limit.of(10));
+
+		assertEquals(List.of(12L), page.stream().map(EmployeeTombstone::getEmployeeId).toList());
+		assertEquals(1, tombstoneRepository.purgeDeletedBefore(now.minusSeconds(60)));
+		assertEquals(3, tombstoneRepository.count());
+	}
+
+	@Test
+	void stampChangeSeq_ShouldRenumberOnlyThePendingRows_AndKeepTheVersion() {
+		List<Employee> saved = newEmployees(3);
+		saved.get(0).setChangeSeq(-7L);
+		saved.get(1).setChangeSeq(-7L);
+		employeeRepository.saveAllAndFlush(saved);
+		tombstoneRepository.saveAndFlush(new EmployeeTombstone(20L, -7L, Instant.now()));
+		entityManager.clear();
+
+		assertEquals(2, employeeRepository.stampChangeSeq(-7L, 4L));
+		assertEquals(1, tombstoneRepository.stampChangeSeq(-7L, 4L));
+		entityManager.clear();
+
+		List<Employee> reloaded = employeeRepository.findAllById(saved.stream().map(Employee::getId).toList());
+		assertEquals(List.of(0L, 4L, 4L), reloaded.stream().map(Employee::getChangeSeq).sorted().toList());
+		assertTrue(reloaded.stream().allMatch(employee -> employee.getVersion() == 0L));
+		assertEquals(4L, tombstoneRepository.findById(20L).orElseThrow().getChangeSeq());
+	}
+
+	@Test
+	void findVersionById_ShouldFollowUpdates_AndBeEmptyAfterDelete() {
+		List<Employee> saved = employeeRepository.saveAllAndFlush(newEmployees(2));
+		entityManager.clear();
+		Long id = saved.get(0).getId();
+
+		Long version = employeeRepository.findVersionById(id).orElseThrow();
+
+		Employee existing = employeeRepository.findById(id).orElseThrow();
+		existing.setName("Renamed");
+		employeeRepository.saveAndFlush(existing);
+		entityManager.clear();
+
+		assertEquals(version + 1, employeeRepository.findVersionById(id).orElseThrow());
+
+		employeeRepository.deleteRowById(saved.get(1).getId());
+		assertTrue(employeeRepository.findVersionById(saved.get(1).getId()).isEmpty());
+	}
+
+	@Test
+	void search_ShouldReturnProjectedKeysetPages_ForEachFilter() {
+		seedEmployees();
+
+		List<EmployeeSummary> department = employeeRepository.findByDepartmentAndIdGreaterThanOrderByIdAsc("Dept 3", 3L, Limit.of(PAGE));
+		assertEquals(PAGE, department.size());
+		assertEquals(13L, department.get(0).getId());
+		assertTrue(department.stream().allMatch(e -> e.getDepartment().equals("Dept 3")));
+
+		List<EmployeeSummary> email = employeeRepository.findByEmailAndIdGreaterThanOrderByIdAsc("employee42@example.com", 0L, Limit.of(PAGE));
+		assertEquals(1, email.size());
+		assertEquals("Employee 42", email.get(0).getName());
+
+		// Employee 1234 and Employee 12340..12349, in name order
+		List<EmployeeSummary> name = employeeRepository.findByNamePrefixAfter("Employee 1234", "", 0L, Limit.of(PAGE));
+		assertEquals(11, name.size());
+		assertEquals(1_234L, name.get(0).getId());
+		assertEquals(12_340L, name.get(1).getId());
+
+		List<EmployeeSummary> next = employeeRepository.findByNamePrefixAfter("Employee 1234", "Employee 12345", 12_345L, Limit.of(PAGE));
+		assertEquals(4, next.size());
+		assertEquals(12_346L, next.get(0).getId());
+	}
+
+	@Test
+	void search_ShouldTreatLikeWildcards_AsLiterals() {
+		seedEmployees();
+
+		assertTrue(employeeRepository.findByNamePrefixAfter("Employee _", "", 0L, Limit.of(PAGE)).isEmpty());
+		assertTrue(employeeRepository.findByNamePrefixAfter("%", "", 0L, Limit.of(PAGE)).isEmpty());
+	}
+
+	@Test
+	void searchQueries_ShouldUseTheirIndexes() {
+		seedEmployees();
+
+		employeeRepository.findByDepartmentAndIdGreaterThanOrderByIdAsc("Dept 3", 0L, Limit.of(51));
+		assertLastQueryUsesIndex("IDX_EMPLOYEE_DEPARTMENT_ID", "Dept 3", 0L, 51);
+		employeeRepository.findByEmailAndIdGreaterThanOrderByIdAsc("employee42@example.com", 0L, Limit.of(51));
+		assertLastQueryUsesIndex("UX_EMPLOYEE_EMAIL", "employee42@example.com", 0L, 51);
+		employeeRepository.findByNamePrefixAfter("Employee 1234", "Employee 1234", 1234L, Limit.of(51));
+		assertLastQueryUsesIndex("IDX_EMPLOYEE_NAME_ID", "Employee 1234%", "\\", "Employee 1234", "Employee 1234", 1234L, 51);
+	}
+
+	@Test
+	void save_ShouldRejectDuplicateEmail() {
+		employeeRepository.saveAndFlush(Employee.builder().name("First").department("Dept").email("same@example.com").build());
+
+		assertThrows(DataIntegrityViolationException.class, () -> employeeRepository.saveAndFlush(
+				Employee.builder().name("Second").department("Dept").email("same@example.com").build()));
+	}
+
+	@Test
+	void findByEmailIn_ShouldLoadOnlyMatchingEmails_ThroughTheEmailIndex() {
+		employeeRepository.saveAllAndFlush(newEmployees(5));
+		entityManager.clear();
+
+		List<Employee> found = employeeRepository.findByEmailIn(List.of("e1@example.com", "e3@example.com", "missing@example.com"));
+
+		assertEquals(List.of("e1@example.com", "e3@example.com"), found.stream().map(Employee::getEmail).sorted().toList());
+		// Hibernate pads the in-list to a power of two by repeating the last value
+		assertLastQueryUsesIndex("UX_EMPLOYEE_EMAIL", "e1@example.com", "e3@example.com", "missing@example.com",
+				"missing@example.com");
+	}
+
+	// EXPLAINs the SQL Hibernate generated for the last query, bound with the values it ran with, in order
+	private void assertLastQueryUsesIndex(String index, Object... parameters) {
+		String sql = LastQuery.sql;
+		String plan = entityManager.getEntityManager().unwrap(Session.class).doReturningWork(connection -> {
+			try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+				for (int i = 0; i < parameters.length; i++)
+					explain.setObject(i + 1, parameters[i]);
+				try (ResultSet result = explain.executeQuery()) {
+					result.next();
+					return result.getString(1);
+				}
+			}
+		});
+		assertTrue(plan.toUpperCase().contains(index), sql + "\n" + plan);
+	}
+
+	// Registered as Hibernate's statement inspector by this test's properties, keeps the last select it saw
+	public static class LastQuery implements StatementInspector {
+
+		private static volatile String sql;
+
+		@Override
+		public String inspect(String statement) {
+			if (statement.startsWith("select"))
+				sql = statement;
+			return statement;
+		}
+	}
+
+	private List<Employee> newEmployees(int count) {
+		return IntStream.range(0, count)
+				.mapToObj(i -> Employee.builder().name("Employee " + i).department("Dept").email("e" + emailSequence++ + "@example.com").build())
+				.toList();
+	}
+
+	private long medianNanos(Long after) {
+		long[] samples = new long[31];
+		for (int i = 0; i < samples.length; i++) {
+			long start = System.nanoTime();
+			List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(PAGE));
+			samples[i] = System.nanoTime() - start;
+			assertEquals(PAGE, page.size());
+			entityManager.clear();
+		}
+		Arrays.sort(samples);
+		return samples[samples.length / 2];
+	}
+}
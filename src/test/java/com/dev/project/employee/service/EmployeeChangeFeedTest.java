@@ -0,0 +1,243 @@
+package com.dev.project.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeEvent;
+import com.dev.project.employee.models.EmployeeEventType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmployeeChangeFeedTest {
+
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final EmployeeProperties properties = new EmployeeProperties();
+
+	private EmployeeChangeFeed feed;
+
+	@AfterEach
+	void tearDown() {
+		if (feed != null)
+			feed.stop();
+	}
+
+	@Test
+	void publish_ShouldReachEveryConcurrentSubscriber_InOrder() throws Exception {
+		feed = start();
+		List<RecordingEmitter> emitters = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			RecordingEmitter emitter = new RecordingEmitter();
+			feed.subscribe(null, emitter);
+			emitters.add(emitter);
+		}
+
+		ExecutorService writers = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<?>> writes = new ArrayList<>();
+			for (int w = 0; w < 8; w++) {
+				long first = w * 250L;
+				writes.add(writers.submit(() -> LongStream.range(first, first + 250)
+						.forEach(id -> feed.publish(created(id)))));
+			}
+			for (Future<?> write : writes)
+				write.get(5, TimeUnit.SECONDS);
+		} finally {
+			writers.shutdownNow();
+		}
+
+		for (RecordingEmitter emitter : emitters) {
+			await(() -> emitter.sequences().size() == 2000);
+			// Every subscriber sees each event once, in the one order the ring assigned
+			assertEquals(LongStream.rangeClosed(1, 2000).boxed().toList(), emitter.sequences());
+			assertEquals(emitters.get(0).employeeIds(), emitter.employeeIds());
+		}
+		assertEquals(2000, registry.get(EmployeeChangeFeed.EVENTS).tag("result", "published").counter().count());
+		assertEquals(400_000, registry.get(EmployeeChangeFeed.EVENTS).tag("result", "delivered").counter().count());
+		assertEquals(0, registry.get("employee.stream.lag").gauge().value());
+		assertEquals(200, registry.get("employee.stream.subscribers").gauge().value());
+	}
+
+	@Test
+	void subscribe_ShouldResumeAfterLastEventId() throws Exception {
+		feed = start();
+		RecordingEmitter live = new RecordingEmitter();
+		feed.subscribe(null, live);
+		LongStream.rangeClosed(1, 5).forEach(id -> feed.publish(created(id)));
+		await(() -> live.sequences().size() == 5);
+
+		RecordingEmitter resumed = new RecordingEmitter();
+		feed.subscribe(live.ids().get(1), resumed);
+
+		await(() -> resumed.sequences().size() == 3);
+		assertEquals(List.of(3L, 4L, 5L), resumed.sequences());
+		assertEquals(List.of(), resumed.names("resync"));
+	}
+
+	@Test
+	void slowSubscriber_ShouldNotBlockWriters_AndResyncPastOverwrittenEvents() throws Exception {
+		properties.getStream().setBufferSize(4);
+		feed = start();
+		RecordingEmitter slow = new RecordingEmitter();
+		slow.blocked = new CountDownLatch(1);
+		feed.subscribe(null, slow);
+
+		// The first event parks the only delivery for this subscriber, the other nine overrun the ring
+		feed.publish(created(1));
+		await(() -> slow.sent.size() == 1);
+		LongStream.rangeClosed(2, 10).forEach(id -> feed.publish(created(id)));
+		assertEquals(10, registry.get("employee.stream.lag").gauge().value());
+
+		slow.blocked.countDown();
+		await(() -> slow.sequences().contains(10L));
+		// 1 was in flight, 2 to 6 were overwritten, 7 to 10 are still in the ring
+		assertEquals(List.of(1L, 7L, 8L, 9L, 10L), slow.sequences());
+		assertEquals(List.of("{\"missed\":5}"), slow.names("resync"));
+		assertEquals(5, registry.get(EmployeeChangeFeed.EVENTS).tag("result", "dropped").counter().count());
+		assertEquals(0, registry.get("employee.stream.lag").gauge().value());
+	}
+
+	@Test
+	void subscribe_ShouldResync_ForAnIdFromAnotherInstance() throws Exception {
+		feed = start();
+		feed.publish(created(1));
+
+		RecordingEmitter restarted = new RecordingEmitter();
+		feed.subscribe("0-41", restarted);
+		feed.publish(created(2));
+
+		await(() -> restarted.sequences().size() == 1);
+		assertEquals(List.of("{}"), restarted.names("resync"));
+		assertEquals(List.of(2L), restarted.sequences());
+	}
+
+	@Test
+	void publish_ShouldWaitForCommit_InsideATransaction() throws Exception {
+		feed = start();
+		RecordingEmitter emitter = new RecordingEmitter();
+		feed.subscribe(null, emitter);
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			feed.publish(created(1));
+			Thread.sleep(50);
+			assertEquals(List.of(), emitter.sequences());
+
+			TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		await(() -> emitter.sequences().size() == 1);
+	}
+
+	@Test
+	void subscriber_ShouldBeRemoved_OnceItsConnectionFails() throws Exception {
+		feed = start();
+		RecordingEmitter gone = new RecordingEmitter();
+		gone.failing = true;
+		feed.subscribe(null, gone);
+		assertEquals(1, feed.subscriberCount());
+
+		feed.publish(created(1));
+
+		await(() -> feed.subscriberCount() == 0);
+	}
+
+	private EmployeeChangeFeed start() {
+		properties.getStream().setHeartbeatInterval(Duration.ofMinutes(1));
+		EmployeeChangeFeed started = new EmployeeChangeFeed(properties, new ObjectMapper(), registry);
+		started.start();
+		return started;
+	}
+
+	private static EmployeeEvent created(long id) {
+		return EmployeeEvent.of(EmployeeEventType.CREATED, Employee.builder().id(id).name("Employee " + id)
+				.department("Physics").email("employee" + id + "@gmail.com").build());
+	}
+
+	private static void await(BooleanSupplier condition) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.nanoTime() < deadline, "condition not met in time");
+			Thread.sleep(5);
+		}
+	}
+
+	// Keeps the raw SSE text of every send instead of writing to a response
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+		private volatile CountDownLatch blocked;
+		private volatile boolean failing;
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			if (failing)
+				throw new IOException("Broken pipe");
+			StringBuilder text = new StringBuilder();
+			builder.build().forEach(part -> text.append(part.getData()));
+			sent.add(text.toString());
+			if (blocked != null) {
+				try {
+					blocked.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		List<String> ids() {
+			return field("id:", "event:created");
+		}
+
+		List<Long> sequences() {
+			return ids().stream().map(id -> Long.parseLong(id.substring(id.indexOf('-') + 1))).toList();
+		}
+
+		List<String> employeeIds() {
+			return field("data:", "event:created").stream()
+					.map(data -> data.substring(data.indexOf("\"employeeId\":")).split(",")[0])
+					.toList();
+		}
+
+		List<String> names(String name) {
+			return field("data:", "event:" + name);
+		}
+
+		private List<String> field(String prefix, String eventLine) {
+			List<String> values = new ArrayList<>();
+			synchronized (sent) {
+				for (String event : sent) {
+					if (!event.contains(eventLine + "\n"))
+						continue;
+					for (String line : event.split("\n"))
+						if (line.startsWith(prefix))
+							values.add(line.substring(prefix.length()));
+				}
+			}
+			return values;
+		}
+	}
+}
@@ -0,0 +1,241 @@
+package com.dev.project.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeSyncTokenExpiredException;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeChanges;
+import com.dev.project.employee.models.EmployeePatch;
+import com.dev.project.employee.models.SyncToken;
+import com.dev.project.employee.repository.EmployeeChangeCounterRepository;
+import com.dev.project.employee.repository.EmployeeRepository;
+import com.dev.project.employee.repository.EmployeeTombstoneRepository;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+		"spring.datasource.url=jdbc:h2:mem:sync;DB_CLOSE_DELAY=-1",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.show-sql=false",
+		"employee.suggest.enabled=false" })
+class EmployeeDeltaSyncTest {
+
+	@Autowired
+	private EmployeeService service;
+
+	@Autowired
+	private EmployeeRepository repo;
+
+	@Autowired
+	private EmployeeTombstoneRepository tombstones;
+
+	@Autowired
+	private EmployeeChangeCounterRepository counter;
+
+	@Autowired
+	private EmployeeChangeLog changeLog;
+
+	@Autowired
+	private EmployeeProperties properties;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TransactionTemplate transaction;
+
+	// What a client holds, id to name, built only from sync pages
+	private final Map<Long, String> client = new TreeMap<>();
+
+	private final AtomicInteger emailSequence = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		repo.deleteAll();
+		tombstones.deleteAll();
+	}
+
+	@Test
+	void paging_ShouldConvergeOnTheTable_WithWritesBetweenPages() throws Exception {
+		List<Long> ids = List.of(create("A"), create("B"), create("C"), create("D"), create("E"));
+
+		EmployeeChanges page = service.changes(null, 2).getData();
+		apply(page);
+		assertTrue(page.isHasMore());
+
+		// One already sent row changes, one already sent and one not yet sent row go, a new row arrives
+		service.update(ids.get(0), employee("A2"));
+		service.delete(ids.get(1));
+		service.deleteAll(List.of(ids.get(3)), null);
+		create("F");
+
+		String token = syncToTheEnd(page.getToken());
+		assertEquals(table(), client);
+
+		// Caught up, the next sync carries only what happened since
+		service.patch(ids.get(2), repo.findById(ids.get(2)).orElseThrow().getVersion(),
+				EmployeePatch.builder().name("C2").build());
+		EmployeeChanges next = service.changes(token, 10).getData();
+		assertEquals(List.of(ids.get(2)), next.getChanged().stream().map(Employee::getId).toList());
+		assertEquals(List.of(), next.getDeleted());
+		assertFalse(next.isHasMore());
+	}
+
+	@Test
+	void changes_ShouldNotSkipASlowWrite_ThatCommitsAfterAFastOne() throws Exception {
+		create("A");
+		String token = syncToTheEnd(null);
+
+		// The slow writer starts first but commits after the fast one
+		CountDownLatch written = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transaction.executeWithoutResult(status -> {
+			create("Slow");
+			written.countDown();
+			await(release);
+		}));
+		assertTrue(written.await(5, TimeUnit.SECONDS));
+		create("Fast");
+
+		EmployeeChanges fast = service.changes(token, 10).getData();
+		apply(fast);
+		assertEquals(List.of("Fast"), fast.getChanged().stream().map(Employee::getName).toList());
+		token = fast.getToken();
+
+		release.countDown();
+		slow.get(5, TimeUnit.SECONDS);
+		token = syncToTheEnd(token);
+		assertEquals(table(), client);
+	}
+
+	@Test
+	void changes_ShouldNumberWritesFromEveryInstance_InCommitOrder() throws Exception {
+		// Two instances sharing one database, each with its own change log
+		EmployeeChangeLog other = new EmployeeChangeLog(repo, tombstones, counter, properties, transactionManager);
+		List<EmployeeChangeLog> instances = List.of(changeLog, other);
+		long start = changeLog.watermark();
+
+		List<CompletableFuture<Long>> writes = IntStream.range(0, 40)
+				.mapToObj(i -> CompletableFuture.supplyAsync(() -> write(instances.get(i % 2), "W" + i)))
+				.toList();
+		for (CompletableFuture<Long> write : writes)
+			write.get(10, TimeUnit.SECONDS);
+
+		List<Long> changeSeqs = repo.findAll().stream().map(Employee::getChangeSeq).sorted().toList();
+		assertEquals(LongStream.rangeClosed(start + 1, start + 40).boxed().toList(), changeSeqs);
+		assertEquals(start + 40, other.watermark());
+		syncToTheEnd(null);
+		assertEquals(table(), client);
+	}
+
+	@Test
+	void changeLog_ShouldNotReuseNumbers_AfterTombstonesArePurgedAndItRestarts() throws Exception {
+		Long id = create("A");
+		service.delete(id);
+		long deletedAt = tombstones.findAll().get(0).getChangeSeq();
+		tombstones.deleteAll();
+
+		EmployeeChangeLog restarted = new EmployeeChangeLog(repo, tombstones, counter, properties, transactionManager);
+		Long next = write(restarted, "B");
+
+		assertTrue(repo.findById(next).orElseThrow().getChangeSeq() > deletedAt);
+	}
+
+	@Test
+	void changes_ShouldRejectTokenPastTheRetention_SoTheClientResyncs() throws Exception {
+		create("A");
+		SyncToken stale = new SyncToken(1L, 0L, System.currentTimeMillis() - Duration.ofDays(8).toMillis());
+
+		assertThrows(EmployeeSyncTokenExpiredException.class, () -> service.changes(stale.encode(), 10));
+
+		// A full sync starts over from an empty client
+		client.clear();
+		syncToTheEnd(null);
+		assertEquals(table(), client);
+	}
+
+	@Test
+	void collectionTag_ShouldChange_WithEveryWrite_AndNotWithout() throws Exception {
+		Long id = create("A");
+		String created = service.getCollectionTag();
+		assertEquals(created, service.getCollectionTag());
+
+		service.update(id, employee("A2"));
+		String updated = service.getCollectionTag();
+		assertNotEquals(created, updated);
+
+		service.delete(id);
+		assertNotEquals(updated, service.getCollectionTag());
+	}
+
+	private String syncToTheEnd(String token) {
+		EmployeeChanges page;
+		do {
+			page = service.changes(token, 2).getData();
+			apply(page);
+			token = page.getToken();
+		} while (page.isHasMore());
+		return token;
+	}
+
+	private void apply(EmployeeChanges page) {
+		page.getChanged().forEach(employee -> client.put(employee.getId(), employee.getName()));
+		page.getDeleted().forEach(client::remove);
+	}
+
+	private Map<Long, String> table() {
+		return repo.findAll().stream().collect(Collectors.toMap(Employee::getId, Employee::getName, (a, b) -> a, TreeMap::new));
+	}
+
+	private Long create(String name) {
+		try {
+			return service.create(employee(name)).getData().getId();
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	// A write numbered by the given change log rather than the one the service holds
+	private Long write(EmployeeChangeLog log, String name) {
+		return transaction.execute(status -> {
+			Employee employee = employee(name);
+			employee.setChangeSeq(log.pending());
+			return repo.save(employee).getId();
+		});
+	}
+
+	private Employee employee(String name) {
+		return Employee.builder().name(name).department("Dept").email("sync" + emailSequence.getAndIncrement() + "@example.com").build();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,230 @@
+package com.dev.project.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.ImportJob;
+import com.dev.project.employee.models.ImportStatus;
+import com.dev.project.employee.models.LogDescription;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+
+class EmployeeImportJobsTest {
+
+	private final EmployeeService service = mock(EmployeeService.class);
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final EmployeeProperties properties = new EmployeeProperties();
+
+	// Every employee handed to the service, across chunks and validation threads
+	private final List<Employee> written = Collections.synchronizedList(new ArrayList<>());
+
+	@TempDir
+	private Path directory;
+
+	private EmployeeImportJobs jobs;
+
+	@AfterEach
+	void tearDown() {
+		if (jobs != null && jobs.isRunning())
+			jobs.stop();
+	}
+
+	@Test
+	void start_ShouldImportEveryValidRow_InFileOrder_AndDeleteTheFile() throws Exception {
+		properties.getCsvImport().setChunkSize(100);
+		properties.getCsvImport().setValidationThreads(4);
+		recordWrites();
+		jobs = start();
+		StringBuilder csv = new StringBuilder("email,name,department\n");
+		for (int i = 1; i <= 10_000; i++)
+			csv.append("employee").append(i).append("@example.com,Employee ").append(i).append(",Dept ").append(i % 10).append('\n');
+		Path file = write(csv.toString());
+
+		ImportJob done = awaitFinished(jobs.start(file).getId());
+
+		assertEquals(ImportStatus.COMPLETED, done.getStatus());
+		assertEquals(100, done.getProgress());
+		assertEquals(10_000, done.getRowsRead());
+		assertEquals(10_000, done.getImported());
+		assertEquals(0, done.getFailed());
+		// Chunks are validated in parallel but written in the order they were read
+		assertEquals("Employee 1", written.get(0).getName());
+		assertEquals("Employee 10000", written.get(9_999).getName());
+		assertEquals("employee5000@example.com", written.get(4_999).getEmail());
+		assertFalse(Files.exists(file));
+		assertEquals(10_000, registry.get(EmployeeImportJobs.ROWS).tag("result", "imported").counter().count());
+	}
+
+	@Test
+	void start_ShouldReportInvalidRows_ByRowNumber() throws Exception {
+		recordWrites();
+		jobs = start();
+		Path file = write("""
+				name,department,email
+				Sheldon,Physics,sheldon@gmail.com
+				,Physics,not-an-email
+				Penny,Sales
+				"Hofstadter, Leonard",Physics,leonard@gmail.com
+				""");
+
+		ImportJob done = awaitFinished(jobs.start(file).getId());
+
+		assertEquals(ImportStatus.COMPLETED, done.getStatus());
+		assertEquals(4, done.getRowsRead());
+		assertEquals(2, done.getImported());
+		assertEquals(2, done.getFailed());
+		assertEquals(List.of("2: email: Email should be valid, name: Name is required",
+				"3: " + LogDescription.IMPORT_COLUMN_COUNT.getLog().formatted(3, 2)), done.getErrors());
+		assertEquals(List.of("Sheldon", "Hofstadter, Leonard"), written.stream().map(Employee::getName).toList());
+	}
+
+	@Test
+	void start_ShouldRefuseAFileWithoutTheEmployeeColumns() throws Exception {
+		jobs = start();
+		Path file = write("id,name\n1,Sheldon\n");
+
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> jobs.start(file));
+
+		assertEquals(LogDescription.IMPORT_HEADER_INVALID.getLog(), e.getMessage());
+		assertFalse(Files.exists(file));
+	}
+
+	@Test
+	void failedChunk_ShouldBeRetriedRowByRow_SoOnlyTheBadRowFails() throws Exception {
+		// The database already holds penny@gmail.com
+		when(service.importAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> chunk = invocation.getArgument(0);
+			if (chunk.stream().anyMatch(employee -> "penny@gmail.com".equals(employee.getEmail())))
+				throw new DataIntegrityViolationException("Duplicate entry");
+			written.addAll(chunk);
+			return chunk.size();
+		});
+		jobs = start();
+		Path file = write("name,department,email\nSheldon,Physics,sheldon@gmail.com\nPenny,Sales,penny@gmail.com\nAmy,Biology,amy@gmail.com\n");
+
+		ImportJob done = awaitFinished(jobs.start(file).getId());
+
+		assertEquals(2, done.getImported());
+		assertEquals(List.of("2: " + LogDescription.EMPLOYEE_EMAIL_TAKEN.getLog()), done.getErrors());
+		assertEquals(List.of("Sheldon", "Amy"), written.stream().map(Employee::getName).toList());
+	}
+
+	@Test
+	void cancel_ShouldStopTheJob_AndKeepChunksAlreadyWritten() throws Exception {
+		properties.getCsvImport().setChunkSize(10);
+		properties.getCsvImport().setValidationThreads(1);
+		CountDownLatch firstChunk = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Set<Thread> writers = ConcurrentHashMap.newKeySet();
+		when(service.importAll(anyList())).thenAnswer(invocation -> {
+			writers.add(Thread.currentThread());
+			firstChunk.countDown();
+			assertTrue(release.await(5, TimeUnit.SECONDS));
+			List<Employee> chunk = invocation.getArgument(0);
+			written.addAll(chunk);
+			return chunk.size();
+		});
+		jobs = start();
+		StringBuilder csv = new StringBuilder("name,department,email\n");
+		for (int i = 0; i < 1_000; i++)
+			csv.append("Employee ").append(i).append(",Dept,employee").append(i).append("@example.com\n");
+		String id = jobs.start(write(csv.toString())).getId();
+		assertTrue(firstChunk.await(5, TimeUnit.SECONDS));
+
+		assertEquals(ImportStatus.RUNNING, jobs.cancel(id).orElseThrow().getStatus());
+		release.countDown();
+		ImportJob done = awaitFinished(id);
+
+		assertEquals(ImportStatus.CANCELLED, done.getStatus());
+		assertEquals(10, done.getImported());
+		assertEquals(10, written.size());
+		assertEquals(1, writers.size());
+	}
+
+	@Test
+	void status_ShouldKeepQueuedAndRunningJobs_BeyondMaxJobs() throws Exception {
+		properties.getCsvImport().setMaxJobs(1);
+		properties.getCsvImport().setMaxConcurrentJobs(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(service.importAll(anyList())).thenAnswer(invocation -> {
+			assertTrue(release.await(5, TimeUnit.SECONDS));
+			return 1;
+		});
+		jobs = start();
+
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 20; i++)
+			ids.add(jobs.start(write("name,department,email\nEmployee,Dept,employee" + i + "@example.com\n")).getId());
+
+		// The first job is stuck on its write, the others wait behind it
+		for (String id : ids)
+			assertTrue(jobs.status(id).isPresent(), "job " + id + " was dropped while unfinished");
+
+		release.countDown();
+		assertEquals(ImportStatus.COMPLETED, awaitFinished(ids.get(ids.size() - 1)).getStatus());
+	}
+
+	@Test
+	void status_ShouldBeEmpty_ForAnUnknownJob() {
+		jobs = start();
+
+		assertTrue(jobs.status("missing").isEmpty());
+		assertTrue(jobs.cancel("missing").isEmpty());
+	}
+
+	private void recordWrites() {
+		when(service.importAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> chunk = invocation.getArgument(0);
+			written.addAll(chunk);
+			return chunk.size();
+		});
+	}
+
+	private EmployeeImportJobs start() {
+		EmployeeImportJobs started = new EmployeeImportJobs(service,
+				Validation.buildDefaultValidatorFactory().getValidator(), properties, registry);
+		started.start();
+		return started;
+	}
+
+	private Path write(String csv) throws IOException {
+		return Files.writeString(Files.createTempFile(directory, "import-", ".csv"), csv);
+	}
+
+	private ImportJob awaitFinished(String id) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		while (true) {
+			ImportJob job = jobs.status(id).orElseThrow();
+			if (job.getStatus() != ImportStatus.QUEUED && job.getStatus() != ImportStatus.RUNNING)
+				return job;
+			assertTrue(System.nanoTime() < deadline, "import did not finish in time");
+			Thread.sleep(5);
+		}
+	}
+}
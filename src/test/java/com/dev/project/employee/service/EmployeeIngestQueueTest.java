@@ -0,0 +1,265 @@
+package com.dev.project.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.exception.EmployeeIngestRejectedException;
+import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.IngestStatus;
+import com.dev.project.employee.models.IngestTicket;
+import com.dev.project.employee.models.LogDescription;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+
+class EmployeeIngestQueueTest {
+
+	private final EmployeeService service = mock(EmployeeService.class);
+	private final MeterRegistry registry = new SimpleMeterRegistry();
+	private final EmployeeProperties properties = new EmployeeProperties();
+
+	private EmployeeIngestQueue queue;
+
+	@AfterEach
+	void tearDown() {
+		if (queue != null && queue.isRunning())
+			queue.stop();
+	}
+
+	@Test
+	void submit_ShouldCoalesceByEmail_AndWriteOneBatch() throws Exception {
+		List<List<Employee>> batches = Collections.synchronizedList(new ArrayList<>());
+		when(service.upsertAll(anyList())).thenAnswer(invocation -> {
+			batches.add(List.copyOf(invocation.getArgument(0)));
+			return 1;
+		});
+		queue = start();
+
+		IngestTicket accepted = queue.submit(List.of(
+				employee("Sheldon", "sheldon@gmail.com"),
+				employee("Penny", "penny@gmail.com"),
+				employee("Sheldon Cooper", "sheldon@gmail.com")));
+		IngestTicket done = awaitCompleted(accepted.getId());
+
+		assertEquals(3, done.getAccepted());
+		assertEquals(2, done.getProcessed());
+		assertEquals(1, done.getCoalesced());
+		assertEquals(1, batches.size());
+		// Last write wins, in the order emails were first seen
+		assertEquals(List.of("Sheldon Cooper", "Penny"), batches.get(0).stream().map(Employee::getName).toList());
+		assertEquals(1, registry.get(EmployeeIngestQueue.ITEMS).tag("result", "coalesced").counter().count());
+		assertEquals(2, registry.get(EmployeeIngestQueue.ITEMS).tag("result", "processed").counter().count());
+	}
+
+	@Test
+	void submit_ShouldReportInvalidItems_WithoutQueueingThem() throws Exception {
+		queue = start();
+
+		IngestTicket accepted = queue.submit(List.of(
+				employee("Sheldon", "sheldon@gmail.com"),
+				employee("Leonard", null),
+				employee("", "not-an-email")));
+		IngestTicket done = awaitCompleted(accepted.getId());
+
+		assertEquals(1, done.getProcessed());
+		assertEquals(2, done.getFailed());
+		assertEquals(List.of("1: " + LogDescription.INGEST_EMAIL_REQUIRED.getLog(),
+				"2: email: Email should be valid, name: Name is required"), done.getErrors());
+	}
+
+	@Test
+	void submit_ShouldReject_OnceStopped_AndWhenEmptyOrOversized() {
+		properties.getIngest().setQueueCapacity(2);
+		queue = start();
+		queue.stop();
+
+		EmployeeIngestRejectedException stopped = assertThrows(EmployeeIngestRejectedException.class,
+				() -> queue.submit(List.of(employee("Sheldon", "sheldon@gmail.com"))));
+		assertEquals(1, stopped.getRetryAfterSeconds());
+
+		assertThrows(IllegalArgumentException.class, () -> queue.submit(List.of()));
+		assertThrows(IllegalArgumentException.class, () -> queue.submit(List.of(
+				employee("Sheldon", "sheldon@gmail.com"),
+				employee("Penny", "penny@gmail.com"),
+				employee("Leonard", "leonard@gmail.com"))));
+	}
+
+	@Test
+	void submit_ShouldApplyBackpressure_WhileTheFlusherIsBehind() throws Exception {
+		properties.getIngest().setQueueCapacity(2);
+		Object gate = new Object();
+		when(service.upsertAll(anyList())).thenAnswer(invocation -> {
+			synchronized (gate) {
+				return 1;
+			}
+		});
+		queue = start();
+
+		IngestTicket first;
+		synchronized (gate) {
+			// The flusher holds the first two slots until its write returns
+			first = queue.submit(List.of(employee("Sheldon", "sheldon@gmail.com"), employee("Penny", "penny@gmail.com")));
+			EmployeeIngestRejectedException full = assertThrows(EmployeeIngestRejectedException.class,
+					() -> queue.submit(List.of(employee("Leonard", "leonard@gmail.com"))));
+			assertEquals(LogDescription.INGEST_QUEUE_FULL.getLog().formatted(1), full.getMessage());
+		}
+
+		awaitCompleted(first.getId());
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (true) {
+			try {
+				awaitCompleted(queue.submit(List.of(employee("Leonard", "leonard@gmail.com"))).getId());
+				break;
+			} catch (EmployeeIngestRejectedException e) {
+				// Slots come back right after the flush, which may not have finished yet
+				assertTrue(System.nanoTime() < deadline, "queue never freed its slots");
+				Thread.sleep(10);
+			}
+		}
+	}
+
+	@Test
+	void flush_ShouldRetryItemsSingly_WhenTheBatchFails() throws Exception {
+		when(service.upsertAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> employees = invocation.getArgument(0);
+			if (employees.stream().anyMatch(employee -> employee.getName().equals("Duplicate")))
+				throw new DataIntegrityViolationException("write failed", new IllegalStateException("duplicate key"));
+			return employees.size();
+		});
+		queue = start();
+
+		IngestTicket accepted = queue.submit(List.of(
+				employee("Sheldon", "sheldon@gmail.com"),
+				employee("Duplicate", "duplicate@gmail.com"),
+				employee("Penny", "penny@gmail.com")));
+		IngestTicket done = awaitCompleted(accepted.getId());
+
+		assertEquals(2, done.getProcessed());
+		assertEquals(1, done.getFailed());
+		assertEquals(List.of("1: duplicate key"), done.getErrors());
+		// One batch attempt, then one call per item
+		verify(service, times(4)).upsertAll(anyList());
+	}
+
+	@Test
+	void stop_ShouldDrainQueuedItems_BeforeReturning() {
+		properties.getIngest().setMaxBatchSize(1);
+		when(service.upsertAll(anyList())).thenAnswer(invocation -> {
+			Thread.sleep(20);
+			return 1;
+		});
+		queue = start();
+
+		List<Employee> employees = new ArrayList<>();
+		for (int i = 0; i < 10; i++)
+			employees.add(employee("Employee " + i, "employee" + i + "@gmail.com"));
+		IngestTicket accepted = queue.submit(employees);
+		queue.stop();
+
+		IngestTicket done = queue.status(accepted.getId()).orElseThrow();
+		assertEquals(IngestStatus.COMPLETED, done.getStatus());
+		assertEquals(10, done.getProcessed());
+		verify(service, times(10)).upsertAll(anyList());
+	}
+
+	@Test
+	void interruptedFlusher_ShouldFailTheItemsItHeld_AndStopAccepting() throws Exception {
+		// A long window keeps the first item in the flusher's hands, off the queue but not yet written
+		properties.getIngest().setFlushInterval(Duration.ofSeconds(30));
+		queue = new EmployeeIngestQueue(service, Validation.buildDefaultValidatorFactory().getValidator(), properties,
+				registry);
+		// Cached application contexts run flushers of their own under the same name
+		Set<Thread> before = Thread.getAllStackTraces().keySet();
+		queue.start();
+		Thread flusher = Thread.getAllStackTraces().keySet().stream()
+				.filter(thread -> thread.getName().equals("employee-ingest-flusher") && !before.contains(thread))
+				.findFirst().orElseThrow();
+		IngestTicket accepted = queue.submit(List.of(employee("Sheldon", "sheldon@gmail.com")));
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (registry.get("employee.ingest.queue.size").gauge().value() > 0) {
+			assertTrue(System.nanoTime() < deadline, "flusher never took the item");
+			Thread.sleep(5);
+		}
+
+		flusher.interrupt();
+		IngestTicket done = awaitCompleted(accepted.getId());
+
+		assertEquals(1, done.getFailed());
+		assertEquals(List.of("0: " + LogDescription.INGEST_INTERRUPTED.getLog()), done.getErrors());
+		assertThrows(EmployeeIngestRejectedException.class, () -> queue.submit(List.of(employee("Penny", "penny@gmail.com"))));
+		verify(service, never()).upsertAll(anyList());
+	}
+
+	@Test
+	void status_ShouldKeepPendingTickets_BeyondMaxTickets() throws Exception {
+		properties.getIngest().setMaxTickets(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(service.upsertAll(anyList())).thenAnswer(invocation -> {
+			release.await(5, TimeUnit.SECONDS);
+			return 1;
+		});
+		queue = start();
+
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < 20; i++)
+			ids.add(queue.submit(List.of(employee("Employee " + i, "employee" + i + "@gmail.com"))).getId());
+
+		// The flusher is stuck on the first write, so every ticket is still pending
+		for (String id : ids)
+			assertEquals(IngestStatus.PENDING, queue.status(id).orElseThrow().getStatus());
+
+		release.countDown();
+		assertEquals(1, awaitCompleted(ids.get(ids.size() - 1)).getProcessed());
+	}
+
+	@Test
+	void status_ShouldBeEmpty_ForUnknownTicket() {
+		queue = start();
+
+		assertTrue(queue.status("missing").isEmpty());
+	}
+
+	private EmployeeIngestQueue start() {
+		properties.getIngest().setFlushInterval(Duration.ofMillis(50));
+		EmployeeIngestQueue started = new EmployeeIngestQueue(service,
+				Validation.buildDefaultValidatorFactory().getValidator(), properties, registry);
+		started.start();
+		return started;
+	}
+
+	private IngestTicket awaitCompleted(String id) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+		while (System.nanoTime() < deadline) {
+			IngestTicket ticket = queue.status(id).orElseThrow();
+			if (ticket.getStatus() == IngestStatus.COMPLETED)
+				return ticket;
+			Thread.sleep(10);
+		}
+		throw new AssertionError("ticket " + id + " did not complete");
+	}
+
+	private static Employee employee(String name, String email) {
+		return Employee.builder().name(name).department("Physics").email(email).build();
+	}
+}
@@ -2,36 +2,78 @@ package com.dev.project.employee.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.LongStream;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.dev.project.employee.config.EmployeeProperties;
 import com.dev.project.employee.exception.EmployeeNotFoundException;
+import com.dev.project.employee.exception.EmployeeSyncTokenExpiredException;
+import com.dev.project.employee.exception.EmployeeVersionConflictException;
+import com.dev.project.employee.models.BatchItemResult;
 import com.dev.project.employee.models.Employee;
+import com.dev.project.employee.models.EmployeeChanges;
+import com.dev.project.employee.models.EmployeeEvent;
+import com.dev.project.employee.models.EmployeeEventType;
+import com.dev.project.employee.models.EmployeeListing;
+import com.dev.project.employee.models.EmployeeLookup;
+import com.dev.project.employee.models.EmployeePatch;
+import com.dev.project.employee.models.EmployeeSummary;
+import com.dev.project.employee.models.EmployeeTombstone;
 import com.dev.project.employee.models.LogDescription;
+import com.dev.project.employee.models.PageCursor;
 import com.dev.project.employee.models.Response;
 import com.dev.project.employee.models.Status;
+import com.dev.project.employee.models.SyncToken;
 import com.dev.project.employee.repository.EmployeeRepository;
+import com.dev.project.employee.repository.EmployeeTombstoneRepository;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeServiceImplTest {
@@ -39,6 +81,31 @@ class EmployeeServiceImplTest {
 	@Mock
 	private EmployeeRepository employeeRepository;
 
+	@Spy
+	private EmployeeProperties properties = new EmployeeProperties();
+
+	@Spy
+	private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+	@Spy
+	private EmployeeCache employeeCache = new EmployeeCache(new EmployeeProperties());
+
+	@Spy
+	private EmployeeSuggestIndex suggestIndex = new EmployeeSuggestIndex(new EmployeeProperties());
+
+	@Mock
+	private EmployeeChangeFeed changeFeed;
+
+	@Mock
+	private EmployeeChangeLog changeLog;
+
+	@Mock
+	private EmployeeTombstoneRepository tombstoneRepository;
+
+	// Stands in for the primary transaction a cache miss loads in, a mock runs the callback with no transaction
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
 	@Spy
 	@InjectMocks
 	private EmployeeServiceImpl employeeService;
@@ -103,6 +170,170 @@ class EmployeeServiceImplTest {
 		});
 	}
 
+	@Test
+	void createAll_ShouldSaveValidItems_InChunks_AndReportInvalidOnes() {
+		properties.getBatch().setChunkSize(2);
+		long[] nextId = { 100L };
+		when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> chunk = invocation.getArgument(0);
+			chunk.forEach(e -> e.setId(nextId[0]++));
+			return chunk;
+		});
+
+		List<Employee> employees = new ArrayList<>();
+		employees.add(Employee.builder().name("Sheldon").department("Physics").email("sheldon@gmail.com").build());
+		employees.add(Employee.builder().name("").department("Physics").email("not-an-email").build());
+		employees.add(Employee.builder().id(7L).name("Leonard").department("Physics").build());
+		employees.add(null);
+		employees.add(Employee.builder().name("Penny").department("Sales").build());
+
+		Response<List<BatchItemResult>> response = employeeService.createAll(employees);
+
+		List<BatchItemResult> results = response.getData();
+		assertEquals(5, results.size());
+		assertEquals(Status.SUCCESS, results.get(0).getStatus());
+		assertEquals(100L, results.get(0).getId());
+		assertEquals(Status.FAILURE, results.get(1).getStatus());
+		assertEquals(List.of("email: Email should be valid", "name: Name is required"), results.get(1).getErrors());
+		assertEquals(101L, results.get(2).getId());
+		assertEquals(List.of(LogDescription.EMPLOYEE_CANNOT_BE_NULL.getLog()), results.get(3).getErrors());
+		assertEquals(102L, results.get(4).getId());
+		assertEquals(LogDescription.CREATED_EMPLOYEES.getLog().formatted(3, 5), response.getMessage());
+
+		verify(employeeRepository, times(2)).saveAll(anyList());
+		verify(employeeRepository, times(2)).flush();
+		verify(employeeRepository, times(2)).clearPersistenceContext();
+	}
+
+	@Test
+	void createAll_ShouldReportTakenAndRepeatedEmails_AndSaveTheRest() {
+		when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> chunk = invocation.getArgument(0);
+			chunk.forEach(e -> e.setId(100L));
+			return chunk;
+		});
+		when(employeeRepository.findByEmailIn(List.of("sheldon@gmail.com", "penny@gmail.com", "penny@gmail.com")))
+				.thenReturn(List.of(new Employee(1L, "Sheldon", "Physics", "sheldon@gmail.com")));
+
+		List<Employee> employees = List.of(
+				Employee.builder().name("Sheldon").department("Physics").email("sheldon@gmail.com").build(),
+				Employee.builder().name("Penny").department("Sales").email("penny@gmail.com").build(),
+				Employee.builder().name("Penny").department("Acting").email("penny@gmail.com").build());
+
+		List<BatchItemResult> results = employeeService.createAll(employees).getData();
+
+		assertEquals(List.of("email: " + LogDescription.EMPLOYEE_EMAIL_TAKEN.getLog()), results.get(0).getErrors());
+		assertEquals(100L, results.get(1).getId());
+		assertEquals(List.of("email: " + LogDescription.EMPLOYEE_EMAIL_REPEATED.getLog().formatted(1)), results.get(2).getErrors());
+		verify(employeeRepository, times(1)).saveAll(anyList());
+	}
+
+	@Test
+	void createAll_ShouldIndexTheBatch_OnlyOnceCommitted() {
+		when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> chunk = invocation.getArgument(0);
+			chunk.forEach(e -> e.setId(100L));
+			return chunk;
+		});
+		Employee penny = Employee.builder().name("Penny").department("Sales").email("penny@gmail.com").build();
+
+		inTransaction(() -> employeeService.createAll(List.of(penny)), () -> assertEquals(0, suggestIndex.size()), false);
+		assertEquals(0, suggestIndex.size());
+
+		inTransaction(() -> employeeService.createAll(List.of(penny)), () -> assertEquals(0, suggestIndex.size()), true);
+		assertEquals("Penny", suggestIndex.suggest("pen", 1).get(0).getName());
+	}
+
+	@Test
+	void createAll_ShouldRejectEmptyAndOversizedLists() {
+		properties.getBatch().setMaxSize(1);
+		List<Employee> tooMany = List.of(employee, employee);
+
+		assertThrows(IllegalArgumentException.class, () -> employeeService.createAll(List.of()));
+		assertThrows(IllegalArgumentException.class, () -> employeeService.createAll(tooMany));
+
+		verify(employeeRepository, never()).saveAll(anyList());
+	}
+
+	@Test
+	void upsertAll_ShouldUpdateByEmail_AndInsertTheRest() {
+		Employee current = new Employee(5L, "Sheldon", "Physics", "sheldon@gmail.com");
+		when(employeeRepository.findByEmailIn(anyList())).thenReturn(List.of(current));
+		when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> created = invocation.getArgument(0);
+			created.forEach(e -> e.setId(100L));
+			return created;
+		});
+		employeeCache.put(current);
+
+		int created = employeeService.upsertAll(List.of(
+				Employee.builder().id(99L).name("Penny").department("Sales").email("penny@gmail.com").build(),
+				Employee.builder().name("Sheldon Cooper").department("Theoretical Physics").email("sheldon@gmail.com").build()));
+
+		assertEquals(1, created);
+		assertEquals("Sheldon Cooper", current.getName());
+		assertEquals("Theoretical Physics", current.getDepartment());
+		assertNull(employeeCache.peek(5L));
+		assertEquals(List.of(5L), suggestIndex.suggest("cooper", 10).stream().map(EmployeeSummary::getId).toList());
+		assertEquals(List.of(100L), suggestIndex.suggest("penny", 10).stream().map(EmployeeSummary::getId).toList());
+
+		// The client supplied id is ignored, new rows always get a generated one
+		verify(employeeRepository).saveAll(List.of(Employee.builder().id(100L).name("Penny").department("Sales").email("penny@gmail.com").build()));
+		verify(employeeRepository).flush();
+		verify(employeeRepository).clearPersistenceContext();
+
+		ArgumentCaptor<List<EmployeeEvent>> events = ArgumentCaptor.captor();
+		verify(changeFeed).publishAll(events.capture());
+		assertEquals(List.of("UPDATED 5", "CREATED 100"), events.getValue().stream()
+				.map(event -> event.getType() + " " + event.getEmployeeId()).toList());
+	}
+
+	@Test
+	void upsertAll_ShouldEvictAndIndex_OnlyOnceCommitted() {
+		Employee current = new Employee(5L, "Sheldon", "Physics", "sheldon@gmail.com");
+		when(employeeRepository.findByEmailIn(anyList())).thenReturn(List.of(current));
+		employeeCache.put(current);
+		List<Employee> batch = List.of(Employee.builder().name("Sheldon Cooper").department("Physics").email("sheldon@gmail.com").build());
+
+		inTransaction(() -> employeeService.upsertAll(batch), () -> assertSame(current, employeeCache.peek(5L)), false);
+		assertSame(current, employeeCache.peek(5L));
+		assertEquals(0, suggestIndex.size());
+
+		inTransaction(() -> employeeService.upsertAll(batch), () -> assertEquals(0, suggestIndex.size()), true);
+		assertNull(employeeCache.peek(5L));
+		assertEquals(List.of(5L), suggestIndex.suggest("cooper", 10).stream().map(EmployeeSummary::getId).toList());
+	}
+
+	@Test
+	void importAll_ShouldStampOneChangeNumber_AndPublishEveryRow() {
+		when(changeLog.pending()).thenReturn(42L);
+		long[] nextId = { 100L };
+		when(employeeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+			List<Employee> chunk = invocation.getArgument(0);
+			chunk.forEach(e -> e.setId(nextId[0]++));
+			return chunk;
+		});
+		// Left over from a persist that rolled back, a retry must insert afresh
+		Employee retried = Employee.builder().id(7L).version(3L).name("Penny").department("Sales").email("penny@gmail.com").build();
+
+		int imported = employeeService.importAll(List.of(retried,
+				Employee.builder().name("Amy").department("Biology").email("amy@gmail.com").build()));
+
+		assertEquals(2, imported);
+		assertEquals(100L, retried.getId());
+		assertNull(retried.getVersion());
+		assertEquals(42L, retried.getChangeSeq());
+		assertEquals(List.of(101L), suggestIndex.suggest("amy", 10).stream().map(EmployeeSummary::getId).toList());
+		verify(changeLog, times(1)).pending();
+		verify(employeeRepository).flush();
+		verify(employeeRepository).clearPersistenceContext();
+
+		ArgumentCaptor<List<EmployeeEvent>> events = ArgumentCaptor.captor();
+		verify(changeFeed).publishAll(events.capture());
+		assertEquals(List.of("CREATED 100", "CREATED 101"), events.getValue().stream()
+				.map(event -> event.getType() + " " + event.getEmployeeId()).toList());
+	}
+
 	@Test
 	void getAll_ShouldReturnListOfEmployees_WithSuccessResponse() {
 		// Arrange
@@ -164,6 +395,190 @@ class EmployeeServiceImplTest {
 		verify(employeeRepository, times(1)).findAll();
 	}
 
+	@Test
+	void getPage_ShouldReturnNextCursor_WhenMoreRowsExist() {
+		List<Employee> rows = List.of(new Employee(1L, "Sheldon", "Physics", "sheldon@gmail.com"),
+				new Employee(2L, "Leonard", "Physics", "leonard@gmail.com"),
+				new Employee(3L, "Penny", "Sales", "penny@gmail.com"));
+
+		when(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(rows);
+
+		Response<List<Employee>> response = employeeService.getPage(null, 2);
+
+		assertEquals(2, response.getData().size());
+		assertEquals(PageCursor.encode(2L), response.getNextCursor());
+		assertEquals(LogDescription.EMPLOYEE_COUNT_RETRIEVED.getLog().formatted(2), response.getMessage());
+	}
+
+	@Test
+	void getPage_ShouldOmitNextCursor_OnLastPage() {
+		List<Employee> rows = List.of(new Employee(3L, "Penny", "Sales", "penny@gmail.com"));
+
+		when(employeeRepository.findByIdGreaterThanOrderByIdAsc(2L, Limit.of(3))).thenReturn(rows);
+
+		Response<List<Employee>> response = employeeService.getPage(PageCursor.encode(2L), 2);
+
+		assertEquals(1, response.getData().size());
+		assertNull(response.getNextCursor());
+	}
+
+	@Test
+	void getPage_ShouldClampLimit_ToMaxPageSize() {
+		int max = properties.getPagination().getMaxPageSize();
+		when(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(max + 1))).thenReturn(List.of());
+
+		employeeService.getPage(null, max * 10);
+
+		verify(employeeRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(max + 1));
+	}
+
+	@Test
+	void getPage_ShouldUseDefaultPageSize_WhenLimitMissing() {
+		int size = properties.getPagination().getDefaultPageSize();
+		when(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(size + 1))).thenReturn(List.of());
+
+		employeeService.getPage(null, null);
+
+		verify(employeeRepository, times(1)).findByIdGreaterThanOrderByIdAsc(0L, Limit.of(size + 1));
+	}
+
+	@Test
+	void getPage_ShouldRejectInvalidCursorAndLimit() {
+		assertThrows(IllegalArgumentException.class, () -> employeeService.getPage("not-a-cursor!", 10));
+		assertThrows(IllegalArgumentException.class, () -> employeeService.getPage(null, 0));
+
+		verify(employeeRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+	}
+
+	@Test
+	void list_ShouldReturnTheTag_WithThePageOrTheSearch() {
+		Response<List<Employee>> page = new Response<>();
+		Response<List<EmployeeSummary>> found = new Response<>();
+		when(changeLog.watermark()).thenReturn(7L);
+		doReturn(page).when(employeeService).getPage("MA", 2);
+		doReturn(found).when(employeeService).search("Physics", null, null, null, null);
+
+		EmployeeListing listing = employeeService.list(null, null, null, "MA", 2, null);
+		assertEquals("\"7\"", listing.getTag());
+		assertSame(page, listing.getResponse());
+
+		listing = employeeService.list("Physics", null, null, null, null, "\"6\"");
+		assertEquals("\"7\"", listing.getTag());
+		assertSame(found, listing.getResponse());
+	}
+
+	@Test
+	void list_ShouldSkipTheRead_WhenTheCallerHasTheTag() {
+		when(changeLog.watermark()).thenReturn(7L);
+
+		EmployeeListing listing = employeeService.list(null, null, null, null, null, "\"7\"");
+
+		assertTrue(listing.isNotModified());
+		assertEquals("\"7\"", listing.getTag());
+		verify(employeeService, never()).getPage(any(), any());
+		verify(employeeRepository, never()).findByIdGreaterThanOrderByIdAsc(any(), any());
+	}
+
+	@Test
+	void search_ShouldPageByDepartment_WithIdCursor() {
+		List<EmployeeSummary> rows = List.of(new EmployeeSummary(4L, "Sheldon", "Physics", "sheldon@gmail.com"),
+				new EmployeeSummary(7L, "Leonard", "Physics", "leonard@gmail.com"));
+
+		when(employeeRepository.findByDepartmentAndIdGreaterThanOrderByIdAsc("Physics", 0L, Limit.of(2))).thenReturn(rows);
+
+		Response<List<EmployeeSummary>> response = employeeService.search("Physics", null, null, null, 1);
+
+		assertEquals(1, response.getData().size());
+		assertEquals(PageCursor.encode(4L), response.getNextCursor());
+	}
+
+	@Test
+	void search_ShouldPageByNamePrefix_WithNameAndIdCursor() {
+		List<EmployeeSummary> rows = List.of(new EmployeeSummary(9L, "Shel:don", "Physics", "sheldon@gmail.com"),
+				new EmployeeSummary(3L, "Shelly", "Physics", "shelly@gmail.com"));
+
+		when(employeeRepository.findByNamePrefixAfter("She", "", 0L, Limit.of(2))).thenReturn(rows);
+
+		String cursor = employeeService.search(null, null, "She", null, 1).getNextCursor();
+		employeeService.search(null, null, "She", cursor, 1);
+
+		verify(employeeRepository, times(1)).findByNamePrefixAfter("She", "Shel:don", 9L, Limit.of(2));
+	}
+
+	@Test
+	void search_ShouldRequireExactlyOneFilter() {
+		assertThrows(IllegalArgumentException.class, () -> employeeService.search(null, " ", null, null, 10));
+		assertThrows(IllegalArgumentException.class, () -> employeeService.search("Physics", "sheldon@gmail.com", null, null, 10));
+
+		verify(employeeRepository, never()).findByDepartmentAndIdGreaterThanOrderByIdAsc(any(), any(), any());
+		verify(employeeRepository, never()).findByEmailAndIdGreaterThanOrderByIdAsc(any(), any(), any());
+	}
+
+	@Test
+	void suggest_ShouldMatchNameWordsAndEmail_IgnoringCaseAndAccents() {
+		suggestIndex.put(new EmployeeSummary(1L, "Sheldon Cooper", "Physics", "sheldon@gmail.com"));
+		suggestIndex.put(new EmployeeSummary(2L, "Zoë Shelby", "Physics", "zoe@gmail.com"));
+		suggestIndex.put(new EmployeeSummary(3L, "Leonard Hofstadter", "Physics", "leonard@gmail.com"));
+
+		assertEquals(List.of(2L, 1L), ids(employeeService.suggest("SHEL", 10)));
+		assertEquals(List.of(1L), ids(employeeService.suggest("coo", 10)));
+		assertEquals(List.of(2L), ids(employeeService.suggest("zoe", 10)));
+		assertEquals(List.of(2L), ids(employeeService.suggest("shel", 1)));
+		verify(employeeRepository, never()).findByNamePrefixAfter(any(), any(), any(), any());
+	}
+
+	@Test
+	void suggest_ShouldFollowCreateUpdatePatchAndDelete() {
+		when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(new Employee(1L, "Sheldon", "Physics", "sheldon@gmail.com", 0L)));
+		when(employeeRepository.patch(1L, 1L, "Amy", null, null, 0L)).thenReturn(1);
+		when(employeeRepository.deleteRowById(1L)).thenReturn(1);
+
+		employeeService.create(employee);
+		assertEquals(List.of(1L), ids(employeeService.suggest("shel", 10)));
+
+		employeeService.update(1L, new Employee(null, "Leonard", "Physics", "leonard@gmail.com"));
+		assertTrue(employeeService.suggest("shel", 10).getData().isEmpty());
+		assertEquals(List.of(1L), ids(employeeService.suggest("leo", 10)));
+
+		employeeService.patch(1L, 1L, EmployeePatch.builder().name("Amy").build());
+		// Only the name changed, the email is still indexed
+		assertEquals("Amy", employeeService.suggest("leonard@", 10).getData().get(0).getName());
+		assertEquals("leonard@gmail.com", employeeService.suggest("amy", 10).getData().get(0).getEmail());
+
+		employeeService.delete(1L);
+		assertTrue(employeeService.suggest("amy", 10).getData().isEmpty());
+		assertEquals(0, suggestIndex.size());
+	}
+
+	@Test
+	void suggest_ShouldFallBackToNamePrefixQuery_WhenIndexDisabled() {
+		List<EmployeeSummary> rows = List.of(EmployeeSummary.of(employee));
+		when(employeeRepository.findByNamePrefixAfter("She", "", 0L, Limit.of(10))).thenReturn(rows);
+
+		assertEquals(rows, uncachedService().suggest("She", null).getData());
+	}
+
+	@Test
+	void suggest_ShouldRejectBlankQuery() {
+		assertThrows(IllegalArgumentException.class, () -> employeeService.suggest(" ", 10));
+		assertThrows(IllegalArgumentException.class, () -> employeeService.suggest("she", 0));
+	}
+
+	@Test
+	void exportAll_ShouldStreamEveryRow_AndClearPersistenceContextPeriodically() {
+		properties.getExport().setClearInterval(10);
+		when(employeeRepository.streamAll(properties.getExport().getFetchSize()))
+				.thenReturn(LongStream.rangeClosed(1, 25).mapToObj(id -> Employee.builder().id(id).build()));
+
+		List<Employee> exported = new ArrayList<>();
+		long count = employeeService.exportAll(exported::add);
+
+		assertEquals(25, count);
+		assertEquals(25, exported.size());
+		verify(employeeRepository, times(2)).clearPersistenceContext();
+	}
+
 	@Test
 	void getById_ShouldReturnEmployee_WhenEmployeeExists() {
 		// Arrange
@@ -201,11 +616,280 @@ class EmployeeServiceImplTest {
 		});
 
 		assertEquals(LogDescription.EMPLOYEE_NOT_FOUND.getLog(), exception.getMessage());
+		// Thrown by the loader itself, not rewrapped by the cache future, and without a captured stack
+		assertEquals(0, exception.getStackTrace().length);
 
 		verify(employeeRepository, times(1)).findById(id);
 		verify(employeeService, never()).buildSuccessResponse(any(), any());
 	}
 
+	@Test
+	void getById_ShouldServeRepeatedLookups_FromCache() {
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+		employeeService.getById(1L);
+		employeeService.getById(1L);
+		Response<Employee> response = employeeService.getById(1L);
+
+		assertEquals("Sheldon", response.getData().getName());
+		assertEquals(1, employeeCache.stats().missCount());
+		assertEquals(2, employeeCache.stats().hitCount());
+		verify(employeeRepository, times(1)).findById(1L);
+	}
+
+	@Test
+	void lookup_ShouldKeepRequestOrder_ReportMissing_AndQueryOnlyCacheMisses() {
+		properties.getLookup().setChunkSize(2);
+		employeeCache.put(new Employee(3L, "Leonard", "Physics", "leonard@gmail.com"));
+		// The database answers an IN query in whatever order it likes
+		when(employeeRepository.findAllById(List.of(5L, 9L))).thenReturn(List.of(new Employee(5L, "Penny", "Sales", "penny@gmail.com")));
+		when(employeeRepository.findAllById(List.of(7L, 1L))).thenReturn(List.of(employee, new Employee(7L, "Amy", "Biology", "amy@gmail.com")));
+
+		Response<EmployeeLookup> response = employeeService.lookup(List.of(5L, 3L, 9L, 5L, 7L, 1L));
+
+		assertEquals(List.of(5L, 3L, 7L, 1L), response.getData().getEmployees().stream().map(Employee::getId).toList());
+		assertEquals(List.of(9L), response.getData().getMissing());
+		assertEquals(LogDescription.LOOKED_UP_EMPLOYEES.getLog().formatted(4, 5), response.getMessage());
+		// The cached employee is never queried, the rest go in chunks of two
+		verify(employeeRepository, times(2)).findAllById(anyList());
+		verify(employeeRepository, never()).findById(any());
+		// Rows read by a lookup are not cached
+		assertNull(employeeCache.peek(5L));
+	}
+
+	@Test
+	void lookup_ShouldRejectEmptyNullAndOversizedIdLists() {
+		properties.getLookup().setMaxIds(2);
+		List<Long> withNull = new ArrayList<>(List.of(1L));
+		withNull.add(null);
+
+		assertThrows(IllegalArgumentException.class, () -> employeeService.lookup(List.of()));
+		assertThrows(IllegalArgumentException.class, () -> employeeService.lookup(withNull));
+		IllegalArgumentException tooMany = assertThrows(IllegalArgumentException.class,
+				() -> employeeService.lookup(List.of(1L, 2L, 3L)));
+
+		assertEquals(LogDescription.LOOKUP_TOO_MANY_IDS.getLog().formatted(2), tooMany.getMessage());
+		verifyNoInteractions(employeeRepository);
+	}
+
+	@Test
+	void getById_ShouldBypassCache_WhenDisabled() {
+		EmployeeServiceImpl uncached = uncachedService();
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+
+		uncached.getById(1L);
+		uncached.getById(1L);
+
+		verify(employeeRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	void create_ShouldPopulateCache_AndDeleteShouldInvalidateIt() {
+		when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+		employeeService.create(employee);
+
+		assertEquals("Sheldon", employeeService.getById(1L).getData().getName());
+		verify(employeeRepository, never()).findById(1L);
+
+		when(employeeRepository.deleteRowById(1L)).thenReturn(1);
+		employeeService.delete(1L);
+		when(employeeRepository.findById(1L)).thenReturn(Optional.empty());
+
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.getById(1L));
+	}
+
+	@Test
+	void create_ShouldCacheAndIndex_OnlyOnceCommitted() {
+		when(employeeRepository.save(any(Employee.class))).thenReturn(employee);
+
+		// A rolled back insert, a duplicate email for one, leaves nothing behind
+		inTransaction(() -> employeeService.create(employee), () -> assertNull(employeeCache.peek(1L)), false);
+		assertNull(employeeCache.peek(1L));
+		assertEquals(0, suggestIndex.size());
+
+		inTransaction(() -> employeeService.create(employee), () -> assertEquals(0, suggestIndex.size()), true);
+		assertSame(employee, employeeCache.peek(1L));
+		assertEquals(1, suggestIndex.size());
+	}
+
+	@Test
+	void findVersion_ShouldUseCachedEmployee_BeforeQuerying() {
+		employee.setVersion(7L);
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+		when(employeeRepository.findVersionById(2L)).thenReturn(Optional.of(1L));
+
+		employeeService.getById(1L);
+
+		assertEquals(Optional.of(7L), employeeService.findVersion(1L));
+		assertEquals(Optional.of(1L), employeeService.findVersion(2L));
+		verify(employeeRepository, never()).findVersionById(1L);
+	}
+
+	@Test
+	void update_ShouldNeverLeaveStaleCacheEntry_UnderConcurrentReads() throws Exception {
+		AtomicReference<Employee> database = new AtomicReference<>(copyOf(employee));
+		when(employeeRepository.findById(1L)).thenAnswer(invocation -> {
+			Employee snapshot = copyOf(database.get());
+			// Widen the window between reading the row and publishing it to the cache
+			Thread.sleep(1);
+			return Optional.of(snapshot);
+		});
+		when(employeeRepository.save(any(Employee.class))).thenAnswer(invocation -> {
+			Employee saved = copyOf(invocation.getArgument(0));
+			database.set(saved);
+			return copyOf(saved);
+		});
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		ExecutorService readers = Executors.newFixedThreadPool(8);
+		for (int i = 0; i < 8; i++) {
+			readers.submit(() -> {
+				while (running.get()) {
+					employeeService.getById(1L);
+					employeeCache.invalidate(1L);
+				}
+			});
+		}
+
+		try {
+			for (int version = 0; version < 200; version++) {
+				String name = "Sheldon v" + version;
+				employeeService.update(1L, Employee.builder().name(name).department("Physics").email("sheldon@gmail.com").build());
+				assertEquals(name, employeeService.getById(1L).getData().getName());
+			}
+		} finally {
+			running.set(false);
+			readers.shutdown();
+			assertTrue(readers.awaitTermination(10, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void getById_ShouldCoalesceConcurrentLookups_IntoOneRepositoryCall() throws Exception {
+		int callers = 1_000;
+		EmployeeServiceImpl uncached = uncachedService();
+		AtomicInteger arrived = new AtomicInteger();
+		when(employeeRepository.findById(1L)).thenAnswer(invocation -> {
+			// Hold the load open until every caller has joined it
+			while (arrived.get() < callers)
+				Thread.onSpinWait();
+			Thread.sleep(100);
+			return Optional.of(employee);
+		});
+
+		List<Future<Response<Employee>>> responses = runConcurrently(callers, () -> {
+			arrived.incrementAndGet();
+			return uncached.getById(1L);
+		});
+
+		for (Future<Response<Employee>> response : responses)
+			assertEquals("Sheldon", response.get().getData().getName());
+		verify(employeeRepository, times(1)).findById(1L);
+
+		// The key is released once the load completes
+		uncached.getById(1L);
+		verify(employeeRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	void getById_ShouldShareNotFound_WithEveryCoalescedCaller() throws Exception {
+		int callers = 100;
+		EmployeeServiceImpl uncached = uncachedService();
+		AtomicInteger arrived = new AtomicInteger();
+		when(employeeRepository.findById(100L)).thenAnswer(invocation -> {
+			while (arrived.get() < callers)
+				Thread.onSpinWait();
+			Thread.sleep(100);
+			return Optional.empty();
+		});
+
+		List<Future<Response<Employee>>> responses = runConcurrently(callers, () -> {
+			arrived.incrementAndGet();
+			return uncached.getById(100L);
+		});
+
+		for (Future<Response<Employee>> response : responses) {
+			ExecutionException thrown = assertThrows(ExecutionException.class, response::get);
+			assertTrue(thrown.getCause() instanceof EmployeeNotFoundException);
+		}
+		verify(employeeRepository, times(1)).findById(100L);
+	}
+
+	@Test
+	void getById_ShouldShareNotFound_ThroughTheCache_WithoutKeepingIt() throws Exception {
+		int callers = 20;
+		AtomicInteger arrived = new AtomicInteger();
+		when(employeeRepository.findById(100L)).thenAnswer(invocation -> {
+			while (arrived.get() < callers)
+				Thread.onSpinWait();
+			Thread.sleep(100);
+			return Optional.empty();
+		});
+
+		List<Future<Response<Employee>>> responses = runConcurrently(callers, () -> {
+			arrived.incrementAndGet();
+			return employeeService.getById(100L);
+		});
+
+		// Every caller gets the loader's own stackless exception, never a CompletionException
+		for (Future<Response<Employee>> response : responses) {
+			ExecutionException thrown = assertThrows(ExecutionException.class, response::get);
+			assertTrue(thrown.getCause() instanceof EmployeeNotFoundException);
+			assertEquals(0, thrown.getCause().getStackTrace().length);
+		}
+		verify(employeeRepository, times(1)).findById(100L);
+		assertNull(employeeCache.peek(100L));
+
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.getById(100L));
+		verify(employeeRepository, times(2)).findById(100L);
+	}
+
+	private static List<Long> ids(Response<List<EmployeeSummary>> response) {
+		return response.getData().stream().map(EmployeeSummary::getId).toList();
+	}
+
+	private EmployeeServiceImpl uncachedService() {
+		EmployeeProperties disabled = new EmployeeProperties();
+		disabled.getCache().setEnabled(false);
+		disabled.getSuggest().setEnabled(false);
+		return new EmployeeServiceImpl(employeeRepository, disabled, validator, new EmployeeCache(disabled),
+				new EmployeeSuggestIndex(disabled), changeFeed, changeLog, tombstoneRepository, transactionManager);
+	}
+
+	private static <T> List<Future<T>> runConcurrently(int threads, Callable<T> task) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < threads; i++)
+				futures.add(pool.submit(task));
+			pool.shutdown();
+			assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+			return futures;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private static Employee copyOf(Employee source) {
+		return new Employee(source.getId(), source.getName(), source.getDepartment(), source.getEmail());
+	}
+
+	// Runs the call inside a stand-in transaction, checks what it left visible, then commits or rolls back
+	private static void inTransaction(Runnable call, Runnable beforeCompletion, boolean commit) {
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			call.run();
+			beforeCompletion.run();
+			List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+			if (commit)
+				synchronizations.forEach(TransactionSynchronization::afterCommit);
+			int status = commit ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK;
+			synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+		} finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
 	@Test
 	void update_ShouldReturnUpdatedEmployee_WhenIdExists() {
 		// Arrange
@@ -235,6 +919,26 @@ class EmployeeServiceImplTest {
 		verify(employeeRepository, times(1)).save(existing);
 	}
 
+	@Test
+	void update_ShouldRecacheAndReindex_OnlyOnceCommitted() {
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+		employeeService.getById(1L);
+		suggestIndex.put(EmployeeSummary.of(employee));
+		Employee saved = Employee.builder().id(1L).name("Sheldon").department("Math").email("sheldon@gmail.com").build();
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(copyOf(employee)));
+		when(employeeRepository.save(any(Employee.class))).thenReturn(saved);
+		Employee update = Employee.builder().name("Sheldon").department("Math").email("sheldon@gmail.com").build();
+
+		// A rolled back update, a taken email for one, leaves the cached and indexed row as it was
+		inTransaction(() -> employeeService.update(1L, update), () -> assertSame(employee, employeeCache.peek(1L)), false);
+		assertSame(employee, employeeCache.peek(1L));
+		assertEquals("Physics", suggestIndex.suggest("sheldon", 1).get(0).getDepartment());
+
+		inTransaction(() -> employeeService.update(1L, update), () -> assertSame(employee, employeeCache.peek(1L)), true);
+		assertSame(saved, employeeCache.peek(1L));
+		assertEquals("Math", suggestIndex.suggest("sheldon", 1).get(0).getDepartment());
+	}
+
 	@Test
 	void update_ShouldThrowException_WhenEmployeeNotFound() {
 		// Arrange
@@ -251,9 +955,79 @@ class EmployeeServiceImplTest {
 		assertEquals(LogDescription.EMPLOYEE_NOT_FOUND.getLog(), exception.getMessage());
 	}
 
+	@Test
+	void patch_ShouldIssueSingleUpdate_AndEvictCachedEmployee() {
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+		employeeService.getById(1L);
+		when(employeeRepository.patch(1L, 3L, null, "Math", null, 0L)).thenReturn(1);
+
+		Response<Employee> response = employeeService.patch(1L, 3L, EmployeePatch.builder().department("Math").build());
+
+		assertEquals(Status.SUCCESS, response.getStatus());
+		assertEquals(4L, response.getData().getVersion());
+		verify(employeeRepository, never()).save(any());
+		verify(employeeRepository, never()).existsById(any());
+
+		ArgumentCaptor<EmployeeEvent> event = ArgumentCaptor.captor();
+		verify(changeFeed).publish(event.capture());
+		assertEquals(EmployeeEventType.PATCHED, event.getValue().getType());
+		assertEquals(4L, event.getValue().getEmployee().getVersion());
+		assertEquals("Math", event.getValue().getEmployee().getDepartment());
+		assertNull(event.getValue().getEmployee().getName());
+
+		employeeService.getById(1L);
+		verify(employeeRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	void patch_ShouldEvictAndReindex_OnlyOnceCommitted() {
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+		employeeService.getById(1L);
+		suggestIndex.put(EmployeeSummary.of(employee));
+		when(employeeRepository.patch(1L, 3L, null, "Math", null, 0L)).thenReturn(1);
+
+		inTransaction(() -> employeeService.patch(1L, 3L, EmployeePatch.builder().department("Math").build()), () -> {
+			// Until the commit every reader still sees the row as it was
+			assertSame(employee, employeeCache.peek(1L));
+			assertEquals("Physics", suggestIndex.suggest("sheldon", 1).get(0).getDepartment());
+		}, true);
+
+		assertNull(employeeCache.peek(1L));
+		assertEquals("Math", suggestIndex.suggest("sheldon", 1).get(0).getDepartment());
+	}
+
+	@Test
+	void patch_ShouldThrowConflict_WhenVersionIsStale() {
+		when(employeeRepository.patch(1L, 2L, "Cooper", null, null, 0L)).thenReturn(0);
+		when(employeeRepository.existsById(1L)).thenReturn(true);
+
+		EmployeePatch patch = EmployeePatch.builder().name("Cooper").build();
+
+		assertThrows(EmployeeVersionConflictException.class, () -> employeeService.patch(1L, 2L, patch));
+	}
+
+	@Test
+	void patch_ShouldThrowNotFound_WhenEmployeeIsMissing() {
+		when(employeeRepository.patch(5L, 0L, "Cooper", null, null, 0L)).thenReturn(0);
+		when(employeeRepository.existsById(5L)).thenReturn(false);
+
+		EmployeePatch patch = EmployeePatch.builder().name("Cooper").build();
+
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.patch(5L, 0L, patch));
+	}
+
+	@Test
+	void patch_ShouldRejectEmptyPatch() {
+		EmployeePatch patch = new EmployeePatch();
+
+		assertThrows(IllegalArgumentException.class, () -> employeeService.patch(1L, 0L, patch));
+		verify(employeeRepository, never()).patch(any(), any(), any(), any(), any(), any());
+	}
+
 	@Test
 	void delete_ShouldDeleteEmployeeById_AndReturnSuccessResponse() {
 		Long id = 1L;
+		when(employeeRepository.deleteRowById(id)).thenReturn(1);
 
 		// Act
 		Response<Void> response = employeeService.delete(id);
@@ -263,19 +1037,148 @@ class EmployeeServiceImplTest {
 		assertEquals(Status.SUCCESS, response.getStatus());
 		assertEquals(LogDescription.DELETED_EMPLOYEE.getLog(), response.getMessage());
 
-		verify(employeeRepository, times(1)).deleteById(id);
+		verify(employeeRepository, times(1)).deleteRowById(id);
+		verify(tombstoneRepository).save(argThat(tombstone -> id.equals(tombstone.getEmployeeId())));
+		verify(employeeRepository, never()).findById(id);
+		verify(changeFeed).publish(argThat(event -> event.getType() == EmployeeEventType.DELETED && id.equals(event.getEmployeeId())));
+	}
+
+	@Test
+	void delete_ShouldKeepCacheAndIndex_WhenTheTransactionRollsBack() {
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+		employeeService.getById(1L);
+		suggestIndex.put(EmployeeSummary.of(employee));
+		when(employeeRepository.deleteRowById(1L)).thenReturn(1);
+
+		inTransaction(() -> employeeService.delete(1L), () -> assertSame(employee, employeeCache.peek(1L)), false);
+
+		// The row is still there, so is everything derived from it
+		assertSame(employee, employeeCache.peek(1L));
+		assertEquals(List.of(1L), ids(employeeService.suggest("sheldon", 10)));
+
+		inTransaction(() -> employeeService.deleteAll(List.of(1L), null), () -> assertEquals(1, suggestIndex.size()), true);
+
+		assertNull(employeeCache.peek(1L));
+		assertEquals(0, suggestIndex.size());
+	}
+
+	@Test
+	void delete_ShouldThrowNotFound_WhenNothingWasDeleted() {
+		when(employeeRepository.deleteRowById(404L)).thenReturn(0);
+
+		assertThrows(EmployeeNotFoundException.class, () -> employeeService.delete(404L));
+		verify(tombstoneRepository, never()).save(any());
+		verify(changeFeed, never()).publish(any());
 	}
 
 	@Test
 	void delete_ShouldThrowException_WhenRepositoryFails() {
 		Long id = 999L;
 
-		doThrow(new EmptyResultDataAccessException(1)).when(employeeRepository).deleteById(id);
+		doThrow(new EmptyResultDataAccessException(1)).when(employeeRepository).deleteRowById(id);
 
 		assertThrows(EmptyResultDataAccessException.class, () -> {
 			employeeService.delete(id);
 		});
 
-		verify(employeeRepository, times(1)).deleteById(id);
+		verify(employeeRepository, times(1)).deleteRowById(id);
+	}
+
+	@Test
+	void deleteAll_ShouldTombstoneAndDeleteByIds_AndEvictThem() {
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+		employeeService.getById(1L);
+		when(changeLog.pending()).thenReturn(7L);
+		when(employeeRepository.deleteRowsTombstonedAt(7L)).thenReturn(2);
+
+		Response<Integer> response = employeeService.deleteAll(List.of(1L, 2L, 3L), null);
+
+		verify(tombstoneRepository).recordByIdIn(eq(List.of(1L, 2L, 3L)), eq(7L), any());
+		assertEquals(2, response.getData());
+		assertEquals(LogDescription.DELETED_EMPLOYEES.getLog().formatted(2), response.getMessage());
+
+		employeeService.getById(1L);
+		verify(employeeRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	void deleteAll_ShouldPublishOnlyTheIdsThatExisted() {
+		when(changeLog.pending()).thenReturn(7L);
+		when(tombstoneRepository.findEmployeeIdsByChangeSeq(7L)).thenReturn(List.of(1L, 3L));
+		when(employeeRepository.deleteRowsTombstonedAt(7L)).thenReturn(2);
+
+		employeeService.deleteAll(List.of(1L, 2L, 3L, 4L), null);
+
+		ArgumentCaptor<List<EmployeeEvent>> events = ArgumentCaptor.captor();
+		verify(changeFeed).publishAll(events.capture());
+		assertEquals(List.of("DELETED 1", "DELETED 3"), events.getValue().stream()
+				.map(event -> event.getType() + " " + event.getEmployeeId()).toList());
+	}
+
+	@Test
+	void deleteAll_ShouldPublishNothing_WhenNoIdExisted() {
+		when(changeLog.pending()).thenReturn(7L);
+
+		employeeService.deleteAll(List.of(2L, 4L), null);
+
+		verify(changeFeed, never()).publishAll(any());
+	}
+
+	@Test
+	void deleteAll_ShouldTombstoneAndDeleteByDepartment_AndClearCache() {
+		when(employeeRepository.findById(1L)).thenReturn(Optional.of(employee));
+		employeeService.getById(1L);
+		when(changeLog.pending()).thenReturn(7L);
+		when(employeeRepository.deleteRowsTombstonedAt(7L)).thenReturn(5);
+
+		Response<Integer> response = employeeService.deleteAll(null, "Physics");
+
+		verify(tombstoneRepository).recordByDepartment(eq("Physics"), eq(7L), any());
+		assertEquals(5, response.getData());
+		employeeService.getById(1L);
+		verify(employeeRepository, times(2)).findById(1L);
+	}
+
+	@Test
+	void deleteAll_ShouldRequireExactlyOneFilter() {
+		List<Long> ids = List.of(1L);
+
+		assertThrows(IllegalArgumentException.class, () -> employeeService.deleteAll(null, null));
+		assertThrows(IllegalArgumentException.class, () -> employeeService.deleteAll(ids, "Physics"));
+
+		verify(employeeRepository, never()).deleteRowsTombstonedAt(any());
+		verifyNoInteractions(tombstoneRepository);
+	}
+
+	@Test
+	void changes_ShouldMergeRowsAndTombstones_InChangeOrder() {
+		SyncToken since = new SyncToken(3L, 0L, System.currentTimeMillis());
+		when(changeLog.tombstoneRetentionMillis()).thenReturn(Duration.ofDays(7).toMillis());
+		when(changeLog.watermark()).thenReturn(9L);
+		Employee first = new Employee(2L, "Amy", "Physics", "amy@gmail.com", 1L, 4L);
+		Employee second = new Employee(1L, "Sheldon", "Physics", "sheldon@gmail.com", 1L, 6L);
+		when(employeeRepository.findChangedAfter(3L, 0L, 9L, Limit.of(3))).thenReturn(List.of(first, second));
+		when(tombstoneRepository.findDeletedAfter(3L, 0L, 9L, Limit.of(3)))
+				.thenReturn(List.of(new EmployeeTombstone(5L, 4L, Instant.now()), new EmployeeTombstone(8L, 9L, Instant.now())));
+
+		EmployeeChanges page = employeeService.changes(since.encode(), 2).getData();
+
+		// (4, 2) and (4, 5) fill the page, (6, 1) and (9, 8) are left for the next one
+		assertEquals(List.of(2L), page.getChanged().stream().map(Employee::getId).toList());
+		assertEquals(List.of(5L), page.getDeleted());
+		assertTrue(page.isHasMore());
+		SyncToken next = SyncToken.decode(page.getToken());
+		assertEquals(4L, next.getChangeSeq());
+		assertEquals(5L, next.getId());
+		assertEquals(since.getIssuedAt(), next.getIssuedAt());
+	}
+
+	@Test
+	void changes_ShouldRejectTokenOlderThanTombstoneRetention() {
+		String since = new SyncToken(3L, 0L, System.currentTimeMillis() - Duration.ofDays(8).toMillis()).encode();
+		when(changeLog.tombstoneRetentionMillis()).thenReturn(Duration.ofDays(7).toMillis());
+
+		assertThrows(EmployeeSyncTokenExpiredException.class, () -> employeeService.changes(since, null));
+		verify(employeeRepository, never()).findChangedAfter(any(), any(), any(), any());
 	}
 }
@@ -0,0 +1,105 @@
+package com.dev.project.employee.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.dev.project.employee.config.EmployeeProperties;
+import com.dev.project.employee.models.EmployeeSummary;
+
+class EmployeeSuggestIndexTest {
+
+	private final EmployeeSuggestIndex index = new EmployeeSuggestIndex(new EmployeeProperties());
+
+	@Test
+	void suggest_ShouldMatchNameStartLaterWordsAndEmail() {
+		index.put(new EmployeeSummary(1L, "Sheldon Lee Cooper", "Physics", "shelly@caltech.edu"));
+		index.put(new EmployeeSummary(2L, "Leonard Hofstadter", "Physics", "leonard@caltech.edu"));
+
+		assertEquals(List.of(1L), ids("sheldon"));
+		assertEquals(List.of(1L), ids("coop"));
+		assertEquals(List.of(1L), ids("shelly@"));
+		// "lee" is a later word of 1, "leonard" the name and email of 2, each employee once
+		assertEquals(List.of(1L, 2L), ids("le"));
+		assertEquals(List.of(), ids("caltech"));
+	}
+
+	@Test
+	void suggest_ShouldIgnoreCaseAccentsAndExtraSpaces() {
+		index.put(new EmployeeSummary(1L, "Zoë  Shelby", "Sales", null));
+
+		assertEquals(List.of(1L), ids("ZOE SH"));
+		assertEquals(List.of(1L), ids("  shelby"));
+		assertEquals(List.of(), ids("   "));
+	}
+
+	@Test
+	void suggest_ShouldStopAtTheLimit_InTermOrder() {
+		index.put(new EmployeeSummary(3L, "Amy Farrah Fowler", "Biology", null));
+		index.put(new EmployeeSummary(1L, "Amy Adams", "Film", null));
+		index.put(new EmployeeSummary(2L, "Amy Adams", "Film", null));
+
+		assertEquals(List.of(1L, 2L), ids("amy", 2));
+	}
+
+	@Test
+	void put_ShouldReplaceTheOldTerms_OfTheSameId() {
+		index.put(new EmployeeSummary(1L, "Penny", "Sales", "penny@gmail.com"));
+		index.put(new EmployeeSummary(1L, "Penny Hofstadter", "Pharma", "penny@pharma.com"));
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(), ids("penny@gmail"));
+		assertEquals("Pharma", index.suggest("hof", 1).get(0).getDepartment());
+	}
+
+	@Test
+	void merge_ShouldKeepFieldsLeftNull_AndSkipUnknownIds() {
+		index.put(new EmployeeSummary(1L, "Raj", "Astrophysics", "raj@caltech.edu"));
+
+		index.merge(1L, "Rajesh Koothrappali", null, null);
+		index.merge(9L, "Stuart", null, null);
+
+		assertEquals(List.of(), ids("stuart"));
+		EmployeeSummary merged = index.suggest("kooth", 1).get(0);
+		assertEquals("Astrophysics", merged.getDepartment());
+		assertEquals("raj@caltech.edu", merged.getEmail());
+		assertEquals(List.of(1L), ids("raj"));
+	}
+
+	@Test
+	void remove_ShouldDropEveryTerm_ByIdOrDepartment() {
+		index.put(new EmployeeSummary(1L, "Howard Wolowitz", "Engineering", "howard@caltech.edu"));
+		index.put(new EmployeeSummary(2L, "Bernadette Rostenkowski", "Microbiology", null));
+		index.put(new EmployeeSummary(3L, "Barry Kripke", "Physics", null));
+
+		index.remove(1L);
+		index.removeDepartment("Microbiology");
+
+		assertEquals(1, index.size());
+		assertEquals(List.of(), ids("howard"));
+		assertEquals(List.of(), ids("wolo"));
+		assertEquals(List.of(3L), ids("b"));
+	}
+
+	@Test
+	void put_ShouldBeANoOp_WhenDisabled() {
+		EmployeeProperties properties = new EmployeeProperties();
+		properties.getSuggest().setEnabled(false);
+		EmployeeSuggestIndex disabled = new EmployeeSuggestIndex(properties);
+
+		disabled.put(new EmployeeSummary(1L, "Sheldon", "Physics", null));
+
+		assertEquals(0, disabled.size());
+		assertEquals(List.of(), disabled.suggest("sheldon", 10));
+	}
+
+	private List<Long> ids(String query) {
+		return ids(query, 10);
+	}
+
+	private List<Long> ids(String query, int limit) {
+		return index.suggest(query, limit).stream().map(EmployeeSummary::getId).toList();
+	}
+}